@@ -17,10 +17,12 @@
 
 package com.vaticle.typedb.benchmark;
 
-import com.vaticle.factory.tracing.client.FactoryTracing;
-import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic;
 import com.vaticle.typedb.benchmark.common.params.Config;
 import com.vaticle.typedb.benchmark.common.params.Options;
+import com.vaticle.typedb.benchmark.common.tracing.FactoryTracer;
+import com.vaticle.typedb.benchmark.common.tracing.LocalTracer;
+import com.vaticle.typedb.benchmark.common.tracing.Tracer;
+import com.vaticle.typedb.benchmark.memory.InMemorySimulation;
 import com.vaticle.typedb.benchmark.typedb.TypeDBSimulation;
 import com.vaticle.typedb.benchmark.neo4j.Neo4JSimulation;
 import com.vaticle.typedb.benchmark.simulation.Simulation;
@@ -28,7 +30,6 @@ import com.vaticle.typedb.benchmark.common.params.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.Nullable;
 import java.util.Optional;
 
 import static com.vaticle.typedb.benchmark.common.params.Options.parseCLIOptions;
@@ -44,10 +45,14 @@ public class Benchmark {
         if (optionsOpt.isEmpty()) System.exit(0);
         Options options = optionsOpt.get();
 
-        try (FactoryTracing ignore = initTracing(options.tracing().orElse(null), options.database().fullname())) {
+        try {
             Config config = Config.loadYML(options.config());
-            try (Simulation<?, ?, ?> simulation = initSimulation(options, config)) {
-                simulation.run();
+            if (options.isSweep()) {
+                Sweep.run(options, config);
+            } else {
+                try (Simulation<?, ?, ?> simulation = initSimulation(options, Context.create(config, initTracing(options), false))) {
+                    simulation.run();
+                }
             }
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
@@ -55,26 +60,18 @@ public class Benchmark {
         }
     }
 
-    private static Simulation<?, ?, ?> initSimulation(Options options, Config config) throws Exception {
-        Context context = Context.create(config, options.tracing().isPresent(), false);
+    static Simulation<?, ?, ?> initSimulation(Options options, Context context) throws Exception {
         Simulation<?, ?, ?> simulation;
         if (options.database().isTypeDB()) simulation = TypeDBSimulation.core(options.address(), context);
         else if (options.database().isTypeDBCluster()) simulation = TypeDBSimulation.cluster(options.address(), context);
         else if (options.database().isNeo4j()) simulation = Neo4JSimulation.create(options.address(), context);
+        else if (options.database().isMemory()) simulation = InMemorySimulation.create(context);
         else throw new IllegalStateException();
         return simulation;
     }
 
-    private static FactoryTracing initTracing(@Nullable Options.FactoryTracing options, String analysisName) {
-        FactoryTracing tracing;
-        if (options == null) return FactoryTracing.createNoOp().withLogging();
-        else if (options.credentials().isEmpty()) tracing = FactoryTracing.create(options.factory()).withLogging();
-        else {
-            Options.FactoryTracing.Credentials cred = options.credentials().get();
-            tracing = FactoryTracing.create(options.factory(), cred.username(), cred.token()).withLogging();
-        }
-        FactoryTracingThreadStatic.setGlobalTracingClient(tracing);
-        FactoryTracingThreadStatic.openGlobalAnalysis(options.org(), options.repo(), options.commit(), analysisName);
-        return tracing;
+    private static Tracer initTracing(Options options) {
+        if (options.tracing().isPresent()) return FactoryTracer.create(options.tracing().get(), options.database().fullname());
+        else return LocalTracer.create(options.traceFile().toPath());
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark;
+
+import com.vaticle.typedb.benchmark.common.metrics.LatencyHistogram;
+import com.vaticle.typedb.benchmark.common.params.Config;
+import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.common.params.Options;
+import com.vaticle.typedb.benchmark.simulation.Simulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runs the simulation once for every combination of the executor parallelisms, scale factors and batch sizes given on
+ * the command line, re-initialising the database each time, and writes the throughput and the latency percentiles of
+ * every operation at each point to a CSV or JSON file, which is rewritten after every point.
+ */
+class Sweep {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Sweep.class);
+    private static final String[] COLUMNS = {
+            "database", "parallelism", "scale_factor", "batch_size", "runs_per_s", "runs_per_s_cv", "operation",
+            "count", "mean_us", "p50_us", "p90_us", "p99_us", "p99.9_us", "max_us"
+    };
+
+    private final Options options;
+    private final Config config;
+    private final List<Object[]> rows;
+
+    private Sweep(Options options, Config config) {
+        this.options = options;
+        this.config = config;
+        this.rows = new ArrayList<>();
+    }
+
+    static void run(Options options, Config config) throws Exception {
+        new Sweep(options, config).run();
+    }
+
+    private void run() throws Exception {
+        String latencyFile = config.latencyFile();
+        for (Integer parallelism : points(options.sweepParallelism())) {
+            for (Integer scaleFactor : points(options.sweepScaleFactor())) {
+                for (Integer batchSize : points(options.sweepBatchSize())) {
+                    if (parallelism != null) {
+                        config.executor().setMode(Config.Executor.Mode.BOUNDED);
+                        config.executor().setSize(parallelism);
+                    }
+                    if (scaleFactor != null) config.setScaleFactor(scaleFactor);
+                    if (batchSize != null) config.setBatchSize(batchSize);
+                    if (latencyFile != null) config.setLatencyFile(pointFile(latencyFile, parallelism, scaleFactor, batchSize));
+                    runPoint();
+                }
+            }
+        }
+    }
+
+    private static List<Integer> points(Optional<Options.Range> range) {
+        return range.map(Options.Range::values).orElse(Collections.singletonList(null));
+    }
+
+    private static String pointFile(String file, @Nullable Integer parallelism, @Nullable Integer scaleFactor, @Nullable Integer batchSize) {
+        int extension = file.lastIndexOf('.');
+        String suffix = (parallelism != null ? "-p" + parallelism : "") + (scaleFactor != null ? "-s" + scaleFactor : "") +
+                (batchSize != null ? "-b" + batchSize : "");
+        return extension > 0 ? file.substring(0, extension) + suffix + file.substring(extension) : file + suffix;
+    }
+
+    private void runPoint() throws Exception {
+        // Tracing is left off, so that it does not skew the measurements being compared across points
+        Context context = Context.create(config, null, false);
+        String parallelism = context.executor().parallelism() == Integer.MAX_VALUE ? "unbounded" : String.valueOf(context.executor().parallelism());
+        LOG.info("Sweep point: parallelism {}, scale factor {}, batch size {}", parallelism, context.scaleFactor(), context.batchSize());
+        try (Simulation<?, ?, ?> simulation = Benchmark.initSimulation(options, context)) {
+            simulation.run();
+            for (Map.Entry<String, LatencyHistogram> operation : context.latencyRecorder().cumulative().entrySet()) {
+                LatencyHistogram h = operation.getValue();
+                rows.add(new Object[]{
+                        options.database().key(), parallelism, context.scaleFactor(), context.batchSize(),
+                        String.format("%.2f", simulation.throughput()), String.format("%.4f", simulation.throughputCv()),
+                        operation.getKey(), h.count(), micros((long) h.mean()), micros(h.percentile(50)),
+                        micros(h.percentile(90)), micros(h.percentile(99)), micros(h.percentile(99.9)), micros(h.max())
+                });
+            }
+        }
+        write();
+    }
+
+    private void write() throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(options.sweepOutput().toPath(), UTF_8))) {
+            if (options.sweepOutput().getName().endsWith(".json")) writeJSON(writer);
+            else writeCSV(writer);
+            if (writer.checkError()) throw new IOException("Couldn't write sweep results to " + options.sweepOutput());
+        }
+    }
+
+    private void writeCSV(PrintWriter writer) {
+        writer.println(String.join(",", COLUMNS));
+        for (Object[] row : rows) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < row.length; i++) line.append(i > 0 ? "," : "").append(row[i]);
+            writer.println(line);
+        }
+    }
+
+    private void writeJSON(PrintWriter writer) {
+        writer.println("[");
+        for (int r = 0; r < rows.size(); r++) {
+            Object[] row = rows.get(r);
+            StringBuilder object = new StringBuilder("  {");
+            for (int i = 0; i < row.length; i++) {
+                object.append(i > 0 ? ", " : "").append('"').append(COLUMNS[i]).append("\": ");
+                if (row[i] instanceof String && !isNumber((String) row[i])) object.append('"').append(escape((String) row[i])).append('"');
+                else object.append(row[i]);
+            }
+            writer.println(object.append(r + 1 < rows.size() ? "}," : "}"));
+        }
+        writer.println("]");
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static long micros(long nanos) {
+        return NANOSECONDS.toMicros(nanos);
+    }
+}
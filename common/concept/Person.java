@@ -50,6 +50,26 @@ public class Person {
         return email;
     }
 
+    public String firstName() {
+        return firstName;
+    }
+
+    public String lastName() {
+        return lastName;
+    }
+
+    public String address() {
+        return address;
+    }
+
+    public Gender gender() {
+        return gender;
+    }
+
+    public LocalDateTime birthDate() {
+        return birthDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -67,4 +87,10 @@ public class Person {
     public int hashCode() {
         return hash;
     }
+
+    @Override
+    public String toString() {
+        if (firstName == null) return email;
+        return email + " (" + firstName + " " + lastName + ", " + address + ", " + gender + ", " + birthDate + ")";
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.concurrent;
+
+import com.vaticle.typedb.benchmark.common.params.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An ExecutorService that delegates to an executor built for the configured mode, and records the number of tasks
+ * completed, the peak number of tasks running concurrently and, for executors backed by a thread pool, the number of
+ * live and peak pool threads. Virtual threads are not counted, as each of them runs a single task.
+ */
+public class MonitoredExecutor extends AbstractExecutorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MonitoredExecutor.class);
+
+    private final Config.Executor.Mode mode;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final AtomicInteger running;
+    private final AtomicInteger peakRunning;
+    private final AtomicLong completed;
+    private final CountingThreadFactory threads;
+
+    private MonitoredExecutor(Config.Executor.Mode mode, int parallelism, ExecutorService executor,
+                              @Nullable CountingThreadFactory threads) {
+        this.mode = mode;
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.running = new AtomicInteger();
+        this.peakRunning = new AtomicInteger();
+        this.completed = new AtomicLong();
+        this.threads = threads;
+    }
+
+    public static MonitoredExecutor create(Config.Executor config) {
+        CountingThreadFactory threads = new CountingThreadFactory();
+        switch (config.getMode()) {
+            case FIXED:
+                int processors = Runtime.getRuntime().availableProcessors();
+                return new MonitoredExecutor(config.getMode(), processors, Executors.newFixedThreadPool(processors, threads), threads);
+            case BOUNDED:
+                if (config.getSize() < 1) throw new IllegalArgumentException("`bounded` executor requires a size of 1 or greater");
+                return new MonitoredExecutor(config.getMode(), config.getSize(), Executors.newFixedThreadPool(config.getSize(), threads), threads);
+            case VIRTUAL:
+                ExecutorService virtual = virtualThreadExecutor();
+                if (virtual != null) return new MonitoredExecutor(config.getMode(), Integer.MAX_VALUE, virtual, null);
+                return new MonitoredExecutor(config.getMode(), Integer.MAX_VALUE, Executors.newCachedThreadPool(threads), threads);
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Virtual threads are only available from Java 21, whereas we compile against Java 11, so the factory method is
+     * looked up reflectively. On older runtimes we fall back to an unbounded cached thread pool, which also never
+     * queues tasks behind a fixed number of threads, at the cost of one platform thread per blocked task.
+     *
+     * @return the virtual thread executor, or null if the runtime does not support virtual threads
+     */
+    @Nullable
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not supported by this Java runtime, falling back to a cached thread pool");
+            return null;
+        }
+    }
+
+    public Config.Executor.Mode mode() {
+        return mode;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public long completedTasks() {
+        return completed.get();
+    }
+
+    public int peakRunningTasks() {
+        return peakRunning.get();
+    }
+
+    public void resetStatistics() {
+        completed.set(0);
+        peakRunning.set(running.get());
+        if (threads != null) threads.peak.set(threads.live.get());
+    }
+
+    public String printStatistics(double seconds) {
+        String threadStatistics = threads != null
+                ? String.format("%d live threads, peak %d live threads", threads.live.get(), threads.peak.get())
+                : "one virtual thread per task";
+        return String.format("Executor '%s' (parallelism %s): %d tasks, %.2f tasks/s, peak %d running tasks, %s",
+                             mode.name().toLowerCase(), parallelism == Integer.MAX_VALUE ? "unbounded" : parallelism,
+                             completedTasks(), seconds > 0 ? completedTasks() / seconds : 0.0, peakRunningTasks(), threadStatistics);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(() -> {
+            peakRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                command.run();
+            } finally {
+                running.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Counts the threads of a pool that are alive, from when they start until they exit, and the peak of that count.
+     */
+    private static class CountingThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory factory = Executors.defaultThreadFactory();
+        private final AtomicInteger live = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return factory.newThread(() -> {
+                peak.accumulateAndGet(live.incrementAndGet(), Math::max);
+                try {
+                    runnable.run();
+                } finally {
+                    live.decrementAndGet();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.metrics;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Records the latency of each operation performed by each agent into histograms for the current iteration and for the
+ * whole run, and writes their percentiles, in microseconds, to a CSV file, if one is given, after every iteration and
+ * at the end.
+ */
+public class LatencyRecorder implements AutoCloseable {
+
+    private static final String HEADER = "iteration,agent,operation,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us";
+    private static final String CUMULATIVE = "cumulative";
+
+    private final Map<String, Map<String, Histograms>> histograms;
+    private final PrintWriter writer;
+
+    private LatencyRecorder(@Nullable PrintWriter writer) {
+        this.histograms = new ConcurrentHashMap<>();
+        this.writer = writer;
+        if (writer != null) writer.println(HEADER);
+    }
+
+    public static LatencyRecorder create(@Nullable Path file) {
+        if (file == null) return new LatencyRecorder(null);
+        try {
+            return new LatencyRecorder(new PrintWriter(Files.newBufferedWriter(file, UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't create latency report file", e);
+        }
+    }
+
+    public <T> T record(String agent, String operation, Supplier<T> methodToRecord) {
+        long start = System.nanoTime();
+        try {
+            return methodToRecord.get();
+        } finally {
+            record(agent, operation, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String agent, String operation, long nanos) {
+        histograms.computeIfAbsent(agent, a -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, o -> new Histograms()).iteration.record(nanos);
+    }
+
+    public synchronized void writeIteration(int iteration) {
+        forEachSorted((agent, operation, histograms) -> {
+            write(String.valueOf(iteration), agent, operation, histograms.iteration);
+            histograms.cumulative.add(histograms.iteration);
+            histograms.iteration.reset();
+        });
+        flush();
+    }
+
+    public synchronized void discardIteration() {
+        forEachSorted((agent, operation, histograms) -> histograms.iteration.reset());
+    }
+
+    public synchronized void writeCumulative() {
+        forEachSorted((agent, operation, histograms) -> write(CUMULATIVE, agent, operation, histograms.cumulative));
+        flush();
+    }
+
+    /**
+     * Flushes the file, if any, and fails on any earlier write to it having failed, which PrintWriter does not report.
+     */
+    private void flush() {
+        if (writer != null && writer.checkError()) {
+            throw new UncheckedIOException(new IOException("Couldn't write to latency report file"));
+        }
+    }
+
+    /**
+     * @return the cumulative histogram of each operation, keyed by agent and operation joined by a dot, in order
+     */
+    public Map<String, LatencyHistogram> cumulative() {
+        Map<String, LatencyHistogram> cumulative = new TreeMap<>();
+        forEachSorted((agent, operation, histograms) -> cumulative.put(agent + "." + operation, histograms.cumulative));
+        return cumulative;
+    }
+
+    public String printCumulative() {
+        StringBuilder str = new StringBuilder();
+        forEachSorted((agent, operation, histograms) -> {
+            LatencyHistogram h = histograms.cumulative;
+            str.append(String.format("%s.%s: count %d, p50 %d us, p90 %d us, p99 %d us, p99.9 %d us, max %d us",
+                                     agent, operation, h.count(), micros(h.percentile(50)), micros(h.percentile(90)),
+                                     micros(h.percentile(99)), micros(h.percentile(99.9)), micros(h.max()))).append("\n");
+        });
+        return str.toString();
+    }
+
+    private void write(String scope, String agent, String operation, LatencyHistogram h) {
+        if (writer == null || h.count() == 0) return;
+        writer.println(String.join(",", scope, agent, operation, String.valueOf(h.count()),
+                                   String.valueOf(micros((long) h.mean())), String.valueOf(micros(h.percentile(50))),
+                                   String.valueOf(micros(h.percentile(90))), String.valueOf(micros(h.percentile(99))),
+                                   String.valueOf(micros(h.percentile(99.9))), String.valueOf(micros(h.max()))));
+    }
+
+    private void forEachSorted(HistogramsConsumer consumer) {
+        new TreeMap<>(histograms).forEach((agent, operations) -> new TreeMap<>(operations).forEach(
+                (operation, histograms) -> consumer.accept(agent, operation, histograms)
+        ));
+    }
+
+    private static long micros(long nanos) {
+        return NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) writer.close();
+    }
+
+    private interface HistogramsConsumer {
+        void accept(String agent, String operation, Histograms histograms);
+    }
+
+    private static class Histograms {
+        private final LatencyHistogram iteration = new LatencyHistogram();
+        private final LatencyHistogram cumulative = new LatencyHistogram();
+    }
+}
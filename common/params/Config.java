@@ -25,6 +25,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
@@ -32,14 +33,31 @@ public class Config {
     private final static int DEFAULT_RANDOM_SEED = 1;
     private final static int DEFAULT_NUM_ITERATIONS = 10;
     private final static int DEFAULT_SCALE_FACTOR = 5;
+    private final static int DEFAULT_BATCH_SIZE = 1;
     private final static String DEFAULT_DATABASE_NAME = "world";
 
     private List<Agent> agents;
     private TraceSampling traceSampling;
+    private Executor executor = new Executor();
+    private Scheduling scheduling = Scheduling.BARRIER;
+    private RandomGenerator randomGenerator = RandomGenerator.SPLITTABLE;
+    private KeySource keySource = KeySource.DATABASE;
+    private OpenLoop openLoop;
+    private AdaptiveConcurrency adaptiveConcurrency;
+    private Workload workload = new Workload();
+    private WarmUp warmUp = new WarmUp();
+    private int measurementDuration = 0;
+    private World world = new World();
+    private Initialisation initialisation = new Initialisation();
+    private TypeDB typedb = new TypeDB();
+    private Neo4j neo4j = new Neo4j();
     private int randomSeed = DEFAULT_RANDOM_SEED;
     private int iterations = DEFAULT_NUM_ITERATIONS;
     private int scaleFactor = DEFAULT_SCALE_FACTOR;
+    private int batchSize = DEFAULT_BATCH_SIZE;
     private String databaseName = DEFAULT_DATABASE_NAME;
+    private String latencyFile;
+    private String reportDirectory;
 
     public static Config loadYML(File file) throws YAMLException {
         Yaml yaml = new Yaml(new Constructor(Config.class));
@@ -67,6 +85,110 @@ public class Config {
         this.traceSampling = traceSampling;
     }
 
+    public Executor executor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Scheduling scheduling() {
+        return scheduling;
+    }
+
+    public void setScheduling(Scheduling scheduling) {
+        this.scheduling = scheduling;
+    }
+
+    public RandomGenerator randomGenerator() {
+        return randomGenerator;
+    }
+
+    public void setRandomGenerator(RandomGenerator randomGenerator) {
+        this.randomGenerator = randomGenerator;
+    }
+
+    public KeySource keySource() {
+        return keySource;
+    }
+
+    public void setKeySource(KeySource keySource) {
+        this.keySource = keySource;
+    }
+
+    public OpenLoop openLoop() {
+        return openLoop;
+    }
+
+    public void setOpenLoop(OpenLoop openLoop) {
+        this.openLoop = openLoop;
+    }
+
+    public AdaptiveConcurrency adaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public void setAdaptiveConcurrency(AdaptiveConcurrency adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public void setWorkload(Workload workload) {
+        this.workload = workload;
+    }
+
+    public WarmUp warmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(WarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public int measurementDuration() {
+        return measurementDuration;
+    }
+
+    public void setMeasurementDuration(int measurementDuration) {
+        this.measurementDuration = measurementDuration;
+    }
+
+    public World world() {
+        return world;
+    }
+
+    public void setWorld(World world) {
+        this.world = world;
+    }
+
+    public Initialisation initialisation() {
+        return initialisation;
+    }
+
+    public void setInitialisation(Initialisation initialisation) {
+        this.initialisation = initialisation;
+    }
+
+    public TypeDB typedb() {
+        return typedb;
+    }
+
+    public void setTypedb(TypeDB typedb) {
+        this.typedb = typedb;
+    }
+
+    public Neo4j neo4j() {
+        return neo4j;
+    }
+
+    public void setNeo4j(Neo4j neo4j) {
+        this.neo4j = neo4j;
+    }
+
     public int randomSeed() {
         return randomSeed;
     }
@@ -91,6 +213,15 @@ public class Config {
         this.scaleFactor = scaleFactor;
     }
 
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("`batchSize` must be 1 or greater, but was " + batchSize);
+        this.batchSize = batchSize;
+    }
+
     public String databaseName() {
         return databaseName;
     }
@@ -99,6 +230,22 @@ public class Config {
         this.databaseName = databaseName;
     }
 
+    public String latencyFile() {
+        return latencyFile;
+    }
+
+    public void setLatencyFile(String latencyFile) {
+        this.latencyFile = latencyFile;
+    }
+
+    public String reportDirectory() {
+        return reportDirectory;
+    }
+
+    public void setReportDirectory(String reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
     public static class TraceSampling {
         private SamplingFunction function;
         private Integer arg;
@@ -159,10 +306,302 @@ public class Config {
         }
     }
 
+    // BARRIER waits for all regions of an agent's dependencies, PIPELINED only for the same region of each dependency
+    public enum Scheduling {BARRIER, PIPELINED}
+
+    // SPLITTABLE gives each region a split of a SplittableRandom, LEGACY reproduces the java.util.Random streams
+    public enum RandomGenerator {SPLITTABLE, LEGACY}
+
+    // DATABASE matches the persons that agents act on in the database, SHADOW picks them from an in-process record
+    public enum KeySource {DATABASE, SHADOW}
+
+    public static class Executor {
+        private Mode mode = Mode.FIXED;
+        private int size = Runtime.getRuntime().availableProcessors();
+
+        // FIXED uses one thread per processor, BOUNDED uses `size` threads, VIRTUAL uses one virtual thread per task
+        public enum Mode {FIXED, BOUNDED, VIRTUAL}
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+    }
+
+    public static class OpenLoop {
+        private double rate;
+        private int duration;
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getDuration() {
+            return duration;
+        }
+
+        public void setDuration(int duration) {
+            this.duration = duration;
+        }
+    }
+
+    public static class AdaptiveConcurrency {
+        private int initialLimit = 1;
+        private int maxLimit = 0;
+        private int increase = 1;
+        private double decrease = 0.5;
+        private double p99Slo;
+        private double errorRateSlo = 0.01;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getIncrease() {
+            return increase;
+        }
+
+        public void setIncrease(int increase) {
+            this.increase = increase;
+        }
+
+        public double getDecrease() {
+            return decrease;
+        }
+
+        public void setDecrease(double decrease) {
+            this.decrease = decrease;
+        }
+
+        public double getP99Slo() {
+            return p99Slo;
+        }
+
+        public void setP99Slo(double p99Slo) {
+            this.p99Slo = p99Slo;
+        }
+
+        public double getErrorRateSlo() {
+            return errorRateSlo;
+        }
+
+        public void setErrorRateSlo(double errorRateSlo) {
+            this.errorRateSlo = errorRateSlo;
+        }
+    }
+
+    public static class Workload {
+        private Mode mode = Mode.NONE;
+        private String file = "workload.bin";
+        private Pacing pacing = Pacing.MAX;
+
+        // GENERATE records the operations of the run to the file, REPLAY takes them from the file instead of generating
+        public enum Mode {NONE, GENERATE, REPLAY}
+
+        // MAX replays as fast as the database completes the operations, RECORDED at the open loop rate of the recording
+        public enum Pacing {MAX, RECORDED}
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Pacing getPacing() {
+            return pacing;
+        }
+
+        public void setPacing(Pacing pacing) {
+            this.pacing = pacing;
+        }
+    }
+
+    public static class World {
+        private Source source = Source.CSV;
+        private int continents = 6;
+        private int countries = 40;
+        private int cities = 10;
+        private int universities = 5;
+        private int names = 100;
+
+        public enum Source {CSV, GENERATED}
+
+        public Source getSource() {
+            return source;
+        }
+
+        public void setSource(Source source) {
+            this.source = source;
+        }
+
+        public int getContinents() {
+            return continents;
+        }
+
+        public void setContinents(int continents) {
+            this.continents = continents;
+        }
+
+        public int getCountries() {
+            return countries;
+        }
+
+        public void setCountries(int countries) {
+            this.countries = countries;
+        }
+
+        public int getCities() {
+            return cities;
+        }
+
+        public void setCities(int cities) {
+            this.cities = cities;
+        }
+
+        public int getUniversities() {
+            return universities;
+        }
+
+        public void setUniversities(int universities) {
+            this.universities = universities;
+        }
+
+        public int getNames() {
+            return names;
+        }
+
+        public void setNames(int names) {
+            this.names = names;
+        }
+    }
+
+    public static class Initialisation {
+        private int parallelism = 0;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class TypeDB {
+        private int asyncDepth = 0;
+
+        public int getAsyncDepth() {
+            return asyncDepth;
+        }
+
+        public void setAsyncDepth(int asyncDepth) {
+            this.asyncDepth = asyncDepth;
+        }
+    }
+
+    public static class WarmUp {
+        private int iterations = 0;
+        private int duration = 0;
+        private int steadyStateWindow = 0;
+        private double steadyStateCv = 0.05;
+        private int maxIterations = 50;
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public int getDuration() {
+            return duration;
+        }
+
+        public void setDuration(int duration) {
+            this.duration = duration;
+        }
+
+        public int getSteadyStateWindow() {
+            return steadyStateWindow;
+        }
+
+        public void setSteadyStateWindow(int steadyStateWindow) {
+            this.steadyStateWindow = steadyStateWindow;
+        }
+
+        public double getSteadyStateCv() {
+            return steadyStateCv;
+        }
+
+        public void setSteadyStateCv(double steadyStateCv) {
+            this.steadyStateCv = steadyStateCv;
+        }
+
+        public int getMaxIterations() {
+            return maxIterations;
+        }
+
+        public void setMaxIterations(int maxIterations) {
+            this.maxIterations = maxIterations;
+        }
+    }
+
+    public static class Neo4j {
+        private boolean autoCommit = false;
+
+        public boolean isAutoCommit() {
+            return autoCommit;
+        }
+
+        public void setAutoCommit(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+    }
+
     public static class Agent {
         // TODO: mode should just be replaced with two booleans: 'run' and 'trace'
         private Mode mode;
         private String name;
+        private List<String> dependsOn = new ArrayList<>();
+        private Distribution distribution = new Distribution();
 
         public enum Mode {TRACE, RUN, OFF}
 
@@ -174,6 +613,22 @@ public class Config {
             return name;
         }
 
+        public void setDependsOn(List<String> dependsOn) {
+            this.dependsOn = dependsOn;
+        }
+
+        public List<String> getDependsOn() {
+            return dependsOn;
+        }
+
+        public void setDistribution(Distribution distribution) {
+            this.distribution = distribution;
+        }
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+
         public void setMode(Mode mode) {
             this.mode = mode;
         }
@@ -190,4 +645,47 @@ public class Config {
             return mode == Mode.TRACE;
         }
     }
+
+    public static class Distribution {
+        private Type type = Type.UNIFORM;
+        private double theta = 0.99;
+        private double hotFraction = 0.2;
+        private double hotProbability = 0.8;
+
+        // ZIPFIAN picks the key of rank k with probability proportional to 1 / k^theta, HOTSPOT picks one of the first
+        // hotFraction of the keys with probability hotProbability
+        public enum Type {UNIFORM, ZIPFIAN, HOTSPOT}
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public double getTheta() {
+            return theta;
+        }
+
+        public void setTheta(double theta) {
+            this.theta = theta;
+        }
+
+        public double getHotFraction() {
+            return hotFraction;
+        }
+
+        public void setHotFraction(double hotFraction) {
+            this.hotFraction = hotFraction;
+        }
+
+        public double getHotProbability() {
+            return hotProbability;
+        }
+
+        public void setHotProbability(double hotProbability) {
+            this.hotProbability = hotProbability;
+        }
+    }
 }
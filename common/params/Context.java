@@ -17,17 +17,24 @@
 
 package com.vaticle.typedb.benchmark.common.params;
 
+import com.vaticle.typedb.benchmark.common.concurrent.MonitoredExecutor;
+import com.vaticle.typedb.benchmark.common.metrics.LatencyRecorder;
 import com.vaticle.typedb.benchmark.common.seed.SeedData;
+import com.vaticle.typedb.benchmark.common.seed.SeedGenerator;
+import com.vaticle.typedb.benchmark.common.seed.ShadowWorld;
+import com.vaticle.typedb.benchmark.common.seed.Workload;
+import com.vaticle.typedb.benchmark.common.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class Context implements AutoCloseable {
@@ -36,40 +43,122 @@ public class Context implements AutoCloseable {
     public static final int AGE_OF_FRIENDSHIP = 14;
     private static final Logger LOG = LoggerFactory.getLogger(Context.class);
 
-    private final boolean isTracing;
+    private final Tracer tracer;
     private final boolean isReporting;
     private final Config config;
     private final SeedData seedData;
     private final AtomicInteger iteration;
-    private final ExecutorService executor;
-
-    private Context(SeedData seedData, Config config, boolean isTracing, boolean isReporting) {
+    private final MonitoredExecutor executor;
+    private final LatencyRecorder latencyRecorder;
+    private final ShadowWorld shadowWorld;
+    private final Workload.Writer workloadWriter;
+    private final Workload.Reader workloadReader;
+    private volatile boolean isWarmingUp;
+
+    private Context(SeedData seedData, Config config, @Nullable Tracer tracer, boolean isReporting) {
         this.seedData = seedData;
         this.config = config;
-        this.isTracing = isTracing;
+        this.tracer = tracer;
         this.isReporting = isReporting;
         this.iteration = new AtomicInteger(1);
-        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        Config.Workload workload = config.workload();
+        this.workloadWriter = workload.getMode() == Config.Workload.Mode.GENERATE ? Workload.Writer.create(
+                Paths.get(workload.getFile()), config.openLoop() != null ? config.openLoop().getRate() : 0
+        ) : null;
+        this.workloadReader = workload.getMode() == Config.Workload.Mode.REPLAY ? Workload.Reader.open(Paths.get(workload.getFile())) : null;
+        if (workloadReader != null && workload.getPacing() == Config.Workload.Pacing.RECORDED && workloadReader.rate() <= 0) {
+            throw new IllegalArgumentException("Workload `pacing` RECORDED requires a workload generated with an open loop, but '" +
+                                                       workload.getFile() + "' was generated without one");
+        }
+        this.executor = MonitoredExecutor.create(config.executor());
+        this.latencyRecorder = LatencyRecorder.create(config.latencyFile() != null ? Paths.get(config.latencyFile()) : null);
+        this.shadowWorld = config.keySource() == Config.KeySource.SHADOW ? new ShadowWorld() : null;
     }
 
-    public static Context create(Config config, boolean isTracing, boolean isReporting) throws IOException {
-        SeedData seedData = SeedData.initialise();
+    public static Context create(Config config, @Nullable Tracer tracer, boolean isReporting) throws IOException {
+        SeedData seedData;
+        if (config.world().getSource() == Config.World.Source.GENERATED) {
+            seedData = SeedGenerator.generate(config.world(), config.randomSeed());
+        } else {
+            seedData = SeedData.initialise();
+        }
         LOG.info("Total number of continents in seed: {}", seedData.continents().size());
         LOG.info("Total number of countries in seed: {}", seedData.countries().size());
         LOG.info("Total number of cities in seed: {}", seedData.cities().size());
         LOG.info("Total number of universities in seed: {}", seedData.universities().size());
 
-        return new Context(seedData, config, isTracing, isReporting);
+        return new Context(seedData, config, tracer, isReporting);
     }
 
-    public ExecutorService executor() {
+    public MonitoredExecutor executor() {
         return executor;
     }
 
+    public LatencyRecorder latencyRecorder() {
+        return latencyRecorder;
+    }
+
+    public Optional<Workload.Writer> workloadWriter() {
+        return Optional.ofNullable(workloadWriter);
+    }
+
+    public Optional<Workload.Reader> workloadReader() {
+        return Optional.ofNullable(workloadReader);
+    }
+
+    public Optional<ShadowWorld> shadowWorld() {
+        return Optional.ofNullable(shadowWorld);
+    }
+
     public List<Config.Agent> agentConfigs() {
         return config.agents();
     }
 
+    public Config.Scheduling scheduling() {
+        return config.scheduling();
+    }
+
+    public Config.RandomGenerator randomGenerator() {
+        return config.randomGenerator();
+    }
+
+    public Config.WarmUp warmUp() {
+        return config.warmUp();
+    }
+
+    public int measurementDuration() {
+        return config.measurementDuration();
+    }
+
+    /**
+     * When replaying a workload, the open loop is replaced by the rate the workload was recorded at if paced as
+     * recorded, and by none if replayed as fast as possible.
+     */
+    public Optional<Config.OpenLoop> openLoop() {
+        if (workloadReader == null) return Optional.ofNullable(config.openLoop());
+        if (config.workload().getPacing() == Config.Workload.Pacing.MAX) return Optional.empty();
+        Config.OpenLoop recorded = new Config.OpenLoop();
+        recorded.setRate(workloadReader.rate());
+        if (config.openLoop() != null) recorded.setDuration(config.openLoop().getDuration());
+        return Optional.of(recorded);
+    }
+
+    public Optional<Config.AdaptiveConcurrency> adaptiveConcurrency() {
+        return Optional.ofNullable(config.adaptiveConcurrency());
+    }
+
+    public Config.Initialisation initialisation() {
+        return config.initialisation();
+    }
+
+    public Config.TypeDB typedb() {
+        return config.typedb();
+    }
+
+    public Config.Neo4j neo4j() {
+        return config.neo4j();
+    }
+
     public long seed() {
         return config.randomSeed();
     }
@@ -82,6 +171,10 @@ public class Context implements AutoCloseable {
         return config.scaleFactor();
     }
 
+    public int batchSize() {
+        return config.batchSize();
+    }
+
     public String databaseName() {
         return config.databaseName();
     }
@@ -98,12 +191,31 @@ public class Context implements AutoCloseable {
         return LocalDateTime.of(LocalDate.ofYearDay(2000 + iteration.get(), 1), LocalTime.of(0, 0, 0));
     }
 
+    /**
+     * @return the directory to write every report to when reporting, if any
+     */
+    public Optional<String> reportDirectory() {
+        return Optional.ofNullable(config.reportDirectory());
+    }
+
     public SeedData seedData() {
         return seedData;
     }
 
+    public Tracer tracer() {
+        return tracer;
+    }
+
+    /**
+     * Sets whether the iterations being run are warm-up iterations, which are never traced.
+     */
+    public void setWarmingUp(boolean isWarmingUp) {
+        this.isWarmingUp = isWarmingUp;
+    }
+
     public boolean isTracing() {
-        return isTracing && config.traceSampling().samplingFunction().apply(iterationNumber());
+        return tracer != null && !isWarmingUp && (config.traceSampling() == null ||
+                config.traceSampling().samplingFunction().apply(iterationNumber()));
     }
 
     public boolean isReporting() {
@@ -113,5 +225,8 @@ public class Context implements AutoCloseable {
     @Override
     public void close() {
         executor.shutdown();
+        latencyRecorder.close();
+        if (workloadWriter != null) workloadWriter.close();
+        if (tracer != null) tracer.close();
     }
 }
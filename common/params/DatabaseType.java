@@ -22,7 +22,8 @@ import javax.annotation.Nullable;
 public enum DatabaseType {
     TYPEDB("typedb", "TypeDB", "localhost:1729"),
     TYPEDB_CLUSTER("typedb-cluster", "TypeDB Cluster", "localhost:1729"),
-    NEO4J("neo4j", "Neo4j", "bolt://localhost:7687");
+    NEO4J("neo4j", "Neo4j", "bolt://localhost:7687"),
+    MEMORY("memory", "In-Memory", "in-process");
 
     private final String key;
     private final String fullname;
@@ -65,4 +66,8 @@ public enum DatabaseType {
     public boolean isNeo4j() {
         return key.equals("neo4j");
     }
+
+    public boolean isMemory() {
+        return key.equals("memory");
+    }
 }
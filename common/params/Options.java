@@ -24,7 +24,9 @@ import picocli.CommandLine.Option;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -44,11 +46,34 @@ public class Options {
             description = "Simulation configuration file")
     private File config;
 
+    @Option(names = {"--trace-file"}, defaultValue = "traces.csv",
+            description = "File to record traces to, when not tracing to a Vaticle Factory server")
+    private File traceFile;
+
     @Nullable
     @ArgGroup(exclusive = false, multiplicity = "0..1",
             heading = "Vaticle Factory tracing options to run this benchmark with")
     private FactoryTracing tracing;
 
+    @Nullable
+    @Option(names = {"--sweep-parallelism"}, converter = RangeConverter.class,
+            description = "Executor parallelisms to sweep, as a comma-separated list, `from..to` for `from` doubled up to `to`, or `from..to:step`")
+    private Range sweepParallelism;
+
+    @Nullable
+    @Option(names = {"--sweep-scale-factor"}, converter = RangeConverter.class,
+            description = "Scale factors to sweep, as a comma-separated list, `from..to` for `from` doubled up to `to`, or `from..to:step`")
+    private Range sweepScaleFactor;
+
+    @Nullable
+    @Option(names = {"--sweep-batch-size"}, converter = RangeConverter.class,
+            description = "Batch sizes to sweep, as a comma-separated list, `from..to` for `from` doubled up to `to`, or `from..to:step`")
+    private Range sweepBatchSize;
+
+    @Option(names = {"--sweep-output"}, defaultValue = "sweep.csv",
+            description = "File to write the sweep results to, as JSON if it ends in `.json`, and as CSV otherwise")
+    private File sweepOutput;
+
     public static Optional<Options> parseCLIOptions(String[] args) {
         return parseCLIOptions(args, new Options());
     }
@@ -88,10 +113,79 @@ public class Options {
         return config;
     }
 
+    public File traceFile() {
+        return traceFile;
+    }
+
     public Optional<FactoryTracing> tracing() {
         return Optional.ofNullable(tracing);
     }
 
+    public boolean isSweep() {
+        return sweepParallelism != null || sweepScaleFactor != null || sweepBatchSize != null;
+    }
+
+    public Optional<Range> sweepParallelism() {
+        return Optional.ofNullable(sweepParallelism);
+    }
+
+    public Optional<Range> sweepScaleFactor() {
+        return Optional.ofNullable(sweepScaleFactor);
+    }
+
+    public Optional<Range> sweepBatchSize() {
+        return Optional.ofNullable(sweepBatchSize);
+    }
+
+    public File sweepOutput() {
+        return sweepOutput;
+    }
+
+    public static class Range {
+
+        private final List<Integer> values;
+
+        private Range(List<Integer> values) {
+            this.values = values;
+        }
+
+        public List<Integer> values() {
+            return values;
+        }
+    }
+
+    public static class RangeConverter implements CommandLine.ITypeConverter<Range> {
+
+        @Override
+        public Range convert(String value) {
+            List<Integer> values = new ArrayList<>();
+            try {
+                if (value.contains("..")) {
+                    String[] fromTo = value.split("\\.\\.");
+                    String[] toStep = fromTo[1].split(":");
+                    int from = Integer.parseInt(fromTo[0].trim()), to = Integer.parseInt(toStep[0].trim());
+                    if (from < 1) throw new IllegalArgumentException("A range must start from 1 or greater: " + value);
+                    if (to < from) throw new IllegalArgumentException("A range must go up to no less than its start: " + value);
+                    if (toStep.length > 1) {
+                        int step = Integer.parseInt(toStep[1].trim());
+                        if (step < 1) throw new IllegalArgumentException("A range step must be 1 or greater: " + value);
+                        for (long i = from; i <= to; i += step) values.add((int) i);
+                    } else {
+                        for (long i = from; i <= to; i *= 2) values.add((int) i);
+                    }
+                } else {
+                    for (String item : value.split(",")) values.add(Integer.parseInt(item.trim()));
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Unexpected range: '" + value + "'. Expected a comma-separated list, `from..to` or `from..to:step`");
+            }
+            for (int point : values) {
+                if (point < 1) throw new IllegalArgumentException("Every value of a range must be 1 or greater: " + value);
+            }
+            return new Range(values);
+        }
+    }
+
     public static class DatabaseConverter implements CommandLine.ITypeConverter<DatabaseType> {
 
         @Override
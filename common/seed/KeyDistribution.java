@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.params.Config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Math.pow;
+
+/**
+ * Picks the index of a key among a number of keys, where lower indices are hotter, and counts how often the hottest
+ * key, and the hottest tenth of the keys, were picked to show the skew actually achieved.
+ */
+public abstract class KeyDistribution {
+
+    private final LongAdder draws;
+    private final LongAdder hottestDraws;
+    private final LongAdder hotDecileDraws;
+
+    private KeyDistribution() {
+        this.draws = new LongAdder();
+        this.hottestDraws = new LongAdder();
+        this.hotDecileDraws = new LongAdder();
+    }
+
+    public static KeyDistribution uniform() {
+        return new Uniform();
+    }
+
+    public static KeyDistribution create(Config.Distribution config) {
+        switch (config.getType()) {
+            case UNIFORM:
+                return new Uniform();
+            case ZIPFIAN:
+                if (config.getTheta() <= 0 || config.getTheta() >= 1) {
+                    throw new IllegalArgumentException("`zipfian` requires a theta between 0 and 1, exclusive");
+                }
+                return new Zipfian(config.getTheta());
+            case HOTSPOT:
+                if (config.getHotFraction() <= 0 || config.getHotFraction() > 1) {
+                    throw new IllegalArgumentException("`hotspot` requires a hot fraction greater than 0 and at most 1");
+                }
+                if (config.getHotProbability() < 0 || config.getHotProbability() > 1) {
+                    throw new IllegalArgumentException("`hotspot` requires a hot probability between 0 and 1");
+                }
+                return new Hotspot(config.getHotFraction(), config.getHotProbability());
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    public int next(RandomSource random, int size) {
+        int index = sample(random, size);
+        draws.increment();
+        if (index == 0) hottestDraws.increment();
+        if (index < Math.max(1, size / 10)) hotDecileDraws.increment();
+        return index;
+    }
+
+    abstract int sample(RandomSource random, int size);
+
+    public void resetStatistics() {
+        draws.reset();
+        hottestDraws.reset();
+        hotDecileDraws.reset();
+    }
+
+    public String printStatistics() {
+        long count = draws.sum();
+        if (count == 0) return String.format("%s: no draws", this);
+        return String.format("%s: %,d draws, %.1f%% on the hottest key, %.1f%% on the hottest 10%% of keys", this, count,
+                             100.0 * hottestDraws.sum() / count, 100.0 * hotDecileDraws.sum() / count);
+    }
+
+    private static class Uniform extends KeyDistribution {
+
+        @Override
+        int sample(RandomSource random, int size) {
+            return random.nextInt(size);
+        }
+
+        @Override
+        public String toString() {
+            return "uniform";
+        }
+    }
+
+    /**
+     * Samples ranks with the method of Gray et al., "Quickly Generating Billion-Record Synthetic Databases", caching
+     * the zeta constants for up to a bounded number of key counts. As in YCSB, the zeta constant of a new key count is
+     * computed incrementally from that of the nearest cached count, in time linear in the distance between the two.
+     */
+    private static class Zipfian extends KeyDistribution {
+
+        private static final int MAX_CACHED_SIZES = 4096;
+
+        private final double theta;
+        private final double alpha;
+        private final double zeta2;
+        private final ConcurrentSkipListMap<Integer, double[]> constants;
+
+        private Zipfian(double theta) {
+            this.theta = theta;
+            this.alpha = 1.0 / (1.0 - theta);
+            this.zeta2 = 1 + 1.0 / pow(2, theta);
+            this.constants = new ConcurrentSkipListMap<>();
+        }
+
+        private double[] constants(int size) {
+            double[] cached = constants.get(size);
+            if (cached != null) return cached;
+            Map.Entry<Integer, double[]> floor = constants.floorEntry(size), ceiling = constants.ceilingEntry(size);
+            double zetaN;
+            if (ceiling != null && (floor == null || ceiling.getKey() - size < size - floor.getKey())) {
+                zetaN = ceiling.getValue()[0];
+                for (int i = ceiling.getKey(); i > size; i--) zetaN -= 1.0 / pow(i, theta);
+            } else {
+                zetaN = floor != null ? floor.getValue()[0] : 0;
+                for (int i = floor != null ? floor.getKey() + 1 : 1; i <= size; i++) zetaN += 1.0 / pow(i, theta);
+            }
+            double eta = (1 - pow(2.0 / size, 1 - theta)) / (1 - zeta2 / zetaN);
+            double[] zetaAndEta = new double[]{zetaN, eta};
+            if (constants.size() >= MAX_CACHED_SIZES) constants.pollFirstEntry();
+            constants.put(size, zetaAndEta);
+            return zetaAndEta;
+        }
+
+        @Override
+        int sample(RandomSource random, int size) {
+            double[] zetaAndEta = constants(size);
+            double u = random.nextDouble();
+            double uz = u * zetaAndEta[0];
+            if (uz < 1.0 || size == 1) return 0;
+            if (uz < 1.0 + pow(0.5, theta)) return 1;
+            return Math.min(size - 1, (int) (size * pow(zetaAndEta[1] * u - zetaAndEta[1] + 1, alpha)));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("zipfian (theta %.2f)", theta);
+        }
+    }
+
+    private static class Hotspot extends KeyDistribution {
+
+        private final double hotFraction;
+        private final double hotProbability;
+
+        private Hotspot(double hotFraction, double hotProbability) {
+            this.hotFraction = hotFraction;
+            this.hotProbability = hotProbability;
+        }
+
+        @Override
+        int sample(RandomSource random, int size) {
+            int hotSize = Math.max(1, (int) (size * hotFraction));
+            if (hotSize == size || random.nextDouble() < hotProbability) return random.nextInt(hotSize);
+            else return hotSize + random.nextInt(size - hotSize);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hotspot (%.0f%% of draws on %.0f%% of keys)", 100 * hotProbability, 100 * hotFraction);
+        }
+    }
+}
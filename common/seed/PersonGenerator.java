@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Country;
+import com.vaticle.typedb.benchmark.common.concept.Gender;
+import com.vaticle.typedb.benchmark.common.concept.Person;
+import com.vaticle.typedb.common.collection.Pair;
+
+import java.time.LocalDateTime;
+
+import static com.vaticle.typedb.benchmark.common.concept.Gender.FEMALE;
+import static com.vaticle.typedb.benchmark.common.concept.Gender.MALE;
+import static com.vaticle.typedb.common.collection.Collections.pair;
+
+/**
+ * Generates the persons born in the cities of a country, drawing from the random source in the same order, and
+ * producing the same emails and addresses, as formatting them with {@code String.format} would. The fixed parts of
+ * each email and address are computed once per country, and each person is built in a reused per-thread buffer.
+ */
+public class PersonGenerator {
+
+    private static final String EMAIL_DOMAIN = "@email.com";
+    private static final String STREET = " Street, ";
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String[] maleFirstNames;
+    private final String[] femaleFirstNames;
+    private final String[] lastNames;
+    private final City[] cities;
+    private final String[] emailInfixes;
+    private final String[] addressInfixes;
+    private final String addressSuffix;
+
+    public PersonGenerator(Country country) {
+        this.maleFirstNames = country.continent().commonMaleFirstNames().toArray(new String[0]);
+        this.femaleFirstNames = country.continent().commonFemaleFirstNames().toArray(new String[0]);
+        this.lastNames = country.continent().commonLastNames().toArray(new String[0]);
+        this.cities = country.cities().toArray(new City[0]);
+        this.emailInfixes = new String[cities.length];
+        this.addressInfixes = new String[cities.length];
+        for (int i = 0; i < cities.length; i++) {
+            emailInfixes[i] = "." + cities[i].code() + ".";
+            addressInfixes[i] = STREET + cities[i].name() + ", ";
+        }
+        this.addressSuffix = " " + country.name();
+    }
+
+    public Pair<Person, City> generate(RandomSource random, KeyDistribution cityDistribution, LocalDateTime birthDate) {
+        Gender gender = random.nextBoolean() ? MALE : FEMALE;
+        String firstName = random.choose(firstNames(gender.isMale()));
+        String lastName = random.choose(lastNames);
+        int city = cityDistribution.next(random, cities.length);
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(firstName).append('.').append(lastName).append(emailInfixes[city])
+                .append(random.nextInt()).append(EMAIL_DOMAIN);
+        String email = buffer.toString();
+
+        buffer.setLength(0);
+        buffer.append(random.nextInt(1000)).append(' ').append(random.choose(firstNames(random.nextBoolean())))
+                .append(addressInfixes[city]).append(random.nextInt(10_000)).append(addressSuffix);
+        String address = buffer.toString();
+
+        return pair(new Person(email, firstName, lastName, address, gender, birthDate), cities[city]);
+    }
+
+    private String[] firstNames(boolean isMale) {
+        return isMale ? maleFirstNames : femaleFirstNames;
+    }
+}
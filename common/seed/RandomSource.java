@@ -17,25 +17,41 @@
 
 package com.vaticle.typedb.benchmark.common.seed;
 
-import com.vaticle.typedb.benchmark.common.concept.City;
-import com.vaticle.typedb.benchmark.common.concept.Gender;
+import com.vaticle.typedb.benchmark.common.params.Config;
 import com.vaticle.typedb.common.collection.Pair;
 
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static com.vaticle.typedb.common.collection.Collections.pair;
 
+/**
+ * The source of every random choice made by the simulation, backed by a {@link SplittableRandom} whose splits give
+ * each region its own independent, deterministic stream, or by a {@link Random} that reproduces the streams of
+ * earlier versions of the benchmark, for comparison against their results.
+ */
 public class RandomSource {
 
-    private final Random random;
+    private final Generator random;
+
+    private RandomSource(Generator random) {
+        this.random = random;
+    }
 
-    public RandomSource(long seed) {
-        this.random = new Random(seed);
+    public static RandomSource create(long seed, Config.RandomGenerator generator) {
+        switch (generator) {
+            case SPLITTABLE:
+                return new RandomSource(new Splittable(new SplittableRandom(seed)));
+            case LEGACY:
+                return new RandomSource(new Legacy(new Random(seed)));
+            default:
+                throw new IllegalStateException();
+        }
     }
 
     public RandomSource nextSource() {
-        return new RandomSource(random.nextLong());
+        return new RandomSource(random.split());
     }
 
     public boolean nextBoolean() {
@@ -46,25 +62,108 @@ public class RandomSource {
         return list.get(random.nextInt(list.size()));
     }
 
+    public <T> T choose(T[] array) {
+        return array[random.nextInt(array.length)];
+    }
+
     public int nextInt() {
         return random.nextInt(Integer.MAX_VALUE);
     }
 
-    public String address(City city) {
-        return String.format("%s %s Street, %s, %s %s", random.nextInt(1000),
-                             choose(city.country().continent().commonFirstNames(Gender.of(nextBoolean()))),
-                             city.name(), random.nextInt(10_000), city.country().name());
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public double nextDouble() {
+        return random.nextDouble();
     }
 
     public <T> ArrayList<Pair<T, T>> randomPairs(ArrayList<T> list, int pairsPerElement) {
+        return randomPairs(list, pairsPerElement, KeyDistribution.uniform());
+    }
+
+    /**
+     * Pairs each element with others chosen from the rest of the list by the given distribution, under which elements
+     * earlier in the list are hotter.
+     */
+    public <T> ArrayList<Pair<T, T>> randomPairs(ArrayList<T> list, int pairsPerElement, KeyDistribution distribution) {
         ArrayList<Pair<T, T>> pairs = new ArrayList<>(list.size() * pairsPerElement);
         for (int i = 0; i < list.size(); i++) {
             for (int j = 0; j < pairsPerElement; j++) {
-                int other = random.nextInt(list.size() - 1);
+                int other = distribution.next(this, list.size() - 1);
                 if (other >= i) other++;
                 pairs.add(pair(list.get(i), list.get(other)));
             }
         }
         return pairs;
     }
+
+    private interface Generator {
+
+        Generator split();
+
+        boolean nextBoolean();
+
+        int nextInt(int bound);
+
+        double nextDouble();
+    }
+
+    private static class Splittable implements Generator {
+
+        private final SplittableRandom random;
+
+        private Splittable(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public Generator split() {
+            return new Splittable(random.split());
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+    }
+
+    private static class Legacy implements Generator {
+
+        private final Random random;
+
+        private Legacy(Random random) {
+            this.random = random;
+        }
+
+        @Override
+        public Generator split() {
+            return new Legacy(new Random(random.nextLong()));
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+    }
 }
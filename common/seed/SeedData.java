@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,6 +56,10 @@ public class SeedData {
     private static final File LAST_NAMES_FILE = Paths.get("data/last-names.csv").toFile();
     private static final File NOUNS_FILE = Paths.get("data/nouns.csv").toFile();
     private static final File UNIVERSITIES_FILE = Paths.get("data/universities.csv").toFile();
+    private static final List<File> CSV_FILES = List.of(
+            ADJECTIVES_FILE, CITIES_FILE, CONTINENTS_FILE, COUNTRIES_FILE, CURRENCIES_FILE, FIRST_NAMES_FEMALE_FILE,
+            FIRST_NAMES_MALE_FILE, LAST_NAMES_FILE, NOUNS_FILE, UNIVERSITIES_FILE
+    );
     private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.withEscape('\\').withIgnoreSurroundingSpaces().withNullString("");
 
     private final Global global;
@@ -66,6 +71,26 @@ public class SeedData {
     }
 
     public static SeedData initialise() throws IOException {
+        SeedSnapshot snapshot = SeedSnapshot.of(CSV_FILES);
+        try {
+            Optional<SeedData> seedData = snapshot.read();
+            if (seedData.isPresent()) {
+                LOG.info("Seed data decoded from snapshot {}", snapshot.file());
+                return seedData.get();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Seed data snapshot {} could not be decoded, so the CSV files will be parsed", snapshot.file(), e);
+        }
+        SeedData seedData = parse();
+        try {
+            snapshot.write(seedData);
+        } catch (IOException e) {
+            LOG.warn("Seed data snapshot {} could not be written", snapshot.file(), e);
+        }
+        return seedData;
+    }
+
+    private static SeedData parse() throws IOException {
         Global global = new Global();
         Map<String, Continent> continents = new HashMap<>();
         Map<String, Country> countries = new HashMap<>();
@@ -240,7 +265,7 @@ public class SeedData {
         private final ArrayList<String> adjectives;
         private final ArrayList<String> nouns;
 
-        private Words() {
+        Words() {
             adjectives = new ArrayList<>();
             nouns = new ArrayList<>();
         }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Continent;
+import com.vaticle.typedb.benchmark.common.concept.Country;
+import com.vaticle.typedb.benchmark.common.concept.Currency;
+import com.vaticle.typedb.benchmark.common.concept.Global;
+import com.vaticle.typedb.benchmark.common.concept.University;
+import com.vaticle.typedb.benchmark.common.params.Config;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a synthetic world of the configured number of continents, countries per continent, cities and
+ * universities per country, and names per continent, with the same shape as the world parsed from the seed CSV files.
+ * The world depends only on the configuration and the random seed, so every run with the same ones generates it
+ * identically. Codes are sequential, and names are built from random syllables, unique among their entity type.
+ */
+public class SeedGenerator {
+
+    private static final String[] ONSETS = {
+            "b", "c", "d", "f", "g", "h", "j", "k", "l", "m", "n", "p", "r", "s", "t", "v", "w", "z",
+            "br", "ch", "dr", "gr", "kr", "pl", "sh", "st", "th", "tr"
+    };
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u", "ai", "ea", "ia", "ou"};
+    private static final String[] CODAS = {"", "", "", "n", "r", "s", "l", "m", "th", "nd"};
+
+    private final Config.World world;
+    private final Random random;
+    private final Set<String> regionNames;
+    private final Set<String> universityNames;
+    private int countryCount;
+    private int cityCount;
+
+    private SeedGenerator(Config.World world, long seed) {
+        this.world = world;
+        this.random = new Random(seed);
+        this.regionNames = new HashSet<>();
+        this.universityNames = new HashSet<>();
+        this.countryCount = 0;
+        this.cityCount = 0;
+    }
+
+    public static SeedData generate(Config.World world, long seed) {
+        if (world.getContinents() < 1 || world.getCountries() < 1 || world.getCities() < 1 || world.getNames() < 1) {
+            throw new IllegalArgumentException("A generated world requires at least 1 continent, country, city and name");
+        }
+        if (world.getUniversities() < 0) throw new IllegalArgumentException("A generated world cannot have negative universities");
+        return new SeedGenerator(world, seed).generate();
+    }
+
+    private SeedData generate() {
+        Global global = new Global();
+        for (int i = 0; i < world.getContinents(); i++) {
+            Continent continent = new Continent("CT" + i, uniqueName(regionNames));
+            for (int j = 0; j < world.getNames(); j++) {
+                continent.addCommonLastName(name());
+                continent.addCommonFemaleFirstName(name());
+                continent.addCommonMaleFirstName(name());
+            }
+            for (int j = 0; j < world.getCountries(); j++) continent.addCountry(country(continent));
+            global.addContinent(continent);
+        }
+        SeedData.Words words = new SeedData.Words();
+        for (int i = 0; i < world.getNames(); i++) {
+            words.addAjective(name().toLowerCase());
+            words.addNoun(name().toLowerCase());
+        }
+        return new SeedData(global, words);
+    }
+
+    private Country country(Continent continent) {
+        String code = "CY" + countryCount++;
+        Country country = new Country(code, uniqueName(regionNames), continent);
+        country.addCurrency(new Currency(code, country.name() + " Dollar"));
+        for (int i = 0; i < world.getCities(); i++) {
+            country.addCity(new City("CI" + cityCount++, uniqueName(regionNames), country));
+        }
+        for (int i = 0; i < world.getUniversities(); i++) {
+            country.addUniversity(new University(uniqueName(universityNames) + " University", country));
+        }
+        return country;
+    }
+
+    private String uniqueName(Set<String> used) {
+        String name;
+        do {
+            name = name();
+        } while (!used.add(name));
+        return name;
+    }
+
+    private String name() {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(ONSETS[random.nextInt(ONSETS.length)]).append(VOWELS[random.nextInt(VOWELS.length)]);
+        }
+        name.append(CODAS[random.nextInt(CODAS.length)]);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.vaticle.typedb.benchmark.common.Util.printDuration;
+
+/**
+ * Loads the seed data into a database one entity type at a time, spreading the batches of each type over a fixed
+ * number of threads, and logs how long each entity type took to load.
+ */
+public class SeedLoader implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SeedLoader.class);
+
+    private final String database;
+    private final ExecutorService executor;
+
+    public SeedLoader(String database, int parallelism) {
+        this.database = database;
+        this.executor = Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public <T> void load(String entityType, Collection<T> batches, Consumer<T> loader) {
+        Instant start = Instant.now();
+        List<Future<?>> loads = new ArrayList<>(batches.size());
+        batches.forEach(batch -> loads.add(executor.submit(() -> loader.accept(batch))));
+        try {
+            for (Future<?> load : loads) load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            else throw new RuntimeException(e.getCause());
+        }
+        LOG.info("{} initialisation of {} ended in: {}", database, entityType, printDuration(start, Instant.now()));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
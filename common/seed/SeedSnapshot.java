@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Continent;
+import com.vaticle.typedb.benchmark.common.concept.Country;
+import com.vaticle.typedb.benchmark.common.concept.Currency;
+import com.vaticle.typedb.benchmark.common.concept.Global;
+import com.vaticle.typedb.benchmark.common.concept.University;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A compact binary encoding of the pruned seed data, stored in the temporary directory under a hash of the CSV files
+ * it was built from, so that later starts can decode it from a memory-mapped file rather than parse the CSV files.
+ *
+ * Every string is written once to a string table and referred to by its index, with -1 for null. Currencies are
+ * written once to a table and referred to by index, and the rest of the graph is nested: each continent is followed by
+ * its countries, and each country by its cities and universities, so that decoding rebuilds the same object graph.
+ */
+class SeedSnapshot {
+
+    private static final int MAGIC = 0x53454544;
+    private static final int VERSION = 1;
+    private static final int NULL = -1;
+
+    private final Path file;
+
+    private SeedSnapshot(Path file) {
+        this.file = file;
+    }
+
+    static SeedSnapshot of(List<File> csvFiles) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(4).putInt(VERSION).array());
+            for (File csvFile : csvFiles) digest.update(Files.readAllBytes(csvFile.toPath()));
+            String hash = new BigInteger(1, digest.digest()).toString(16);
+            return new SeedSnapshot(Paths.get(System.getProperty("java.io.tmpdir"), "typedb-benchmark-seed-" + hash + ".bin"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Optional<SeedData> read() throws IOException {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return Optional.empty();
+            return Optional.of(new Decoder(buffer).decode());
+        }
+    }
+
+    void write(SeedData seedData) throws IOException {
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                new Encoder(seedData).encode(out);
+            }
+            Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static class Encoder {
+
+        private final SeedData seedData;
+        private final Map<String, Integer> strings;
+        private final Map<Currency, Integer> currencies;
+
+        private Encoder(SeedData seedData) {
+            this.seedData = seedData;
+            this.strings = new HashMap<>();
+            this.currencies = new HashMap<>();
+            index(seedData);
+        }
+
+        private void index(SeedData seedData) {
+            seedData.words().adjectives().forEach(this::intern);
+            seedData.words().nouns().forEach(this::intern);
+            for (Continent continent : seedData.continents()) {
+                intern(continent.code());
+                intern(continent.name());
+                continent.commonLastNames().forEach(this::intern);
+                continent.commonFemaleFirstNames().forEach(this::intern);
+                continent.commonMaleFirstNames().forEach(this::intern);
+                for (Country country : continent.countries()) {
+                    intern(country.code());
+                    intern(country.name());
+                    for (Currency currency : country.currencies()) {
+                        intern(currency.code());
+                        intern(currency.name());
+                        currencies.putIfAbsent(currency, currencies.size());
+                    }
+                    country.cities().forEach(city -> {
+                        intern(city.code());
+                        intern(city.name());
+                    });
+                    country.universities().forEach(university -> intern(university.name()));
+                }
+            }
+        }
+
+        private void intern(String string) {
+            if (string != null) strings.putIfAbsent(string, strings.size());
+        }
+
+        private void encode(DataOutputStream out) throws IOException {
+            String[] stringTable = new String[strings.size()];
+            strings.forEach((string, index) -> stringTable[index] = string);
+            out.writeInt(stringTable.length);
+            for (String string : stringTable) {
+                byte[] bytes = string.getBytes(UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            Currency[] currencyTable = new Currency[currencies.size()];
+            currencies.forEach((currency, index) -> currencyTable[index] = currency);
+            out.writeInt(currencyTable.length);
+            for (Currency currency : currencyTable) {
+                writeString(out, currency.code());
+                writeString(out, currency.name());
+            }
+
+            writeStrings(out, seedData.words().adjectives());
+            writeStrings(out, seedData.words().nouns());
+
+            out.writeInt(seedData.continents().size());
+            for (Continent continent : seedData.continents()) {
+                writeString(out, continent.code());
+                writeString(out, continent.name());
+                writeStrings(out, continent.commonLastNames());
+                writeStrings(out, continent.commonFemaleFirstNames());
+                writeStrings(out, continent.commonMaleFirstNames());
+                out.writeInt(continent.countries().size());
+                for (Country country : continent.countries()) {
+                    writeString(out, country.code());
+                    writeString(out, country.name());
+                    out.writeInt(country.currencies().size());
+                    for (Currency currency : country.currencies()) out.writeInt(currencies.get(currency));
+                    out.writeInt(country.cities().size());
+                    for (City city : country.cities()) {
+                        writeString(out, city.code());
+                        writeString(out, city.name());
+                    }
+                    out.writeInt(country.universities().size());
+                    for (University university : country.universities()) writeString(out, university.name());
+                }
+            }
+        }
+
+        private void writeString(DataOutputStream out, String string) throws IOException {
+            out.writeInt(string == null ? NULL : strings.get(string));
+        }
+
+        private void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) writeString(out, string);
+        }
+    }
+
+    private static class Decoder {
+
+        private final ByteBuffer buffer;
+        private final String[] strings;
+
+        private Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, UTF_8);
+            }
+        }
+
+        private SeedData decode() {
+            Currency[] currencies = new Currency[buffer.getInt()];
+            for (int i = 0; i < currencies.length; i++) currencies[i] = new Currency(readString(), readString());
+
+            SeedData.Words words = new SeedData.Words();
+            readStrings().forEach(words::addAjective);
+            readStrings().forEach(words::addNoun);
+
+            Global global = new Global();
+            int continentCount = buffer.getInt();
+            for (int i = 0; i < continentCount; i++) {
+                Continent continent = new Continent(readString(), readString());
+                readStrings().forEach(continent::addCommonLastName);
+                readStrings().forEach(continent::addCommonFemaleFirstName);
+                readStrings().forEach(continent::addCommonMaleFirstName);
+                int countryCount = buffer.getInt();
+                for (int j = 0; j < countryCount; j++) {
+                    Country country = new Country(readString(), readString(), continent);
+                    int currencyCount = buffer.getInt();
+                    for (int k = 0; k < currencyCount; k++) country.addCurrency(currencies[buffer.getInt()]);
+                    int cityCount = buffer.getInt();
+                    for (int k = 0; k < cityCount; k++) country.addCity(new City(readString(), readString(), country));
+                    int universityCount = buffer.getInt();
+                    for (int k = 0; k < universityCount; k++) country.addUniversity(new University(readString(), country));
+                    continent.addCountry(country);
+                }
+                global.addContinent(continent);
+            }
+            return new SeedData(global, words);
+        }
+
+        private String readString() {
+            int index = buffer.getInt();
+            return index == NULL ? null : strings[index];
+        }
+
+        private List<String> readStrings() {
+            int count = buffer.getInt();
+            List<String> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) list.add(readString());
+            return list;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.concept.Country;
+import com.vaticle.typedb.benchmark.common.concept.Person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An in-process record of the persons committed to the database, indexed by country and year of birth, from which
+ * agents can pick the persons to act on instead of matching them in the database. The emails of the persons born in a
+ * country in a year are packed into a single byte array. Reading the births of a year discards those of earlier
+ * years in the same country, as every agent reads them in increasing years.
+ */
+public class ShadowWorld {
+
+    private final Map<Country, ConcurrentSkipListMap<Integer, Births>> births;
+
+    public ShadowWorld() {
+        this.births = new ConcurrentHashMap<>();
+    }
+
+    public void recordBirths(Country country, int year, List<Person> persons) {
+        if (persons.isEmpty()) return;
+        births.computeIfAbsent(country, c -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(year, y -> new Births()).addAll(persons);
+    }
+
+    /**
+     * @return the persons born in the country in the year, with only their emails, in the order they were recorded
+     */
+    public ArrayList<Person> births(Country country, int year) {
+        ConcurrentSkipListMap<Integer, Births> countryBirths = births.get(country);
+        if (countryBirths == null) return new ArrayList<>();
+        countryBirths.headMap(year).clear();
+        Births yearBirths = countryBirths.get(year);
+        return yearBirths != null ? yearBirths.persons() : new ArrayList<>();
+    }
+
+    public String printStatistics() {
+        long persons = 0, bytes = 0;
+        for (ConcurrentSkipListMap<Integer, Births> countryBirths : births.values()) {
+            for (Births yearBirths : countryBirths.values()) {
+                synchronized (yearBirths) {
+                    persons += yearBirths.size;
+                    bytes += yearBirths.emails.length + (long) yearBirths.offsets.length * Integer.BYTES;
+                }
+            }
+        }
+        return String.format("Shadow world: %d persons held in %d KiB", persons, bytes / 1024);
+    }
+
+    private static class Births {
+
+        private byte[] emails = new byte[256];
+        private int[] offsets = new int[16];
+        private int size;
+
+        synchronized void addAll(List<Person> persons) {
+            for (Person person : persons) {
+                byte[] email = person.email().getBytes(UTF_8);
+                int end = offsets[size] + email.length;
+                if (end > emails.length) emails = Arrays.copyOf(emails, Math.max(end, emails.length * 2));
+                if (size + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                System.arraycopy(email, 0, emails, offsets[size], email.length);
+                offsets[++size] = end;
+            }
+        }
+
+        synchronized ArrayList<Person> persons() {
+            ArrayList<Person> persons = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                persons.add(new Person(new String(emails, offsets[i], offsets[i + 1] - offsets[i], UTF_8)));
+            }
+            return persons;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.seed;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Gender;
+import com.vaticle.typedb.benchmark.common.concept.Person;
+import com.vaticle.typedb.benchmark.common.concept.Region;
+import com.vaticle.typedb.common.collection.Pair;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.vaticle.typedb.common.collection.Collections.pair;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A binary file of the persons and friendships written by each region in each iteration of a run, so that a later run
+ * can replay exactly the same operations against any database without generating them.
+ *
+ * The file starts with a header of the magic number, version, number of iterations and the open loop rate the
+ * workload was generated with, or 0 for none. Each region run follows as a record of its kind, iteration and region
+ * code, the length of its body, and a body of the number of entries followed by the entries. Strings are written as
+ * their length in UTF-8 bytes and the bytes. Records are written in the order regions complete, and are indexed by
+ * kind, iteration and region when the file is read.
+ */
+public class Workload {
+
+    private static final int MAGIC = 0x574b4c44;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + Double.BYTES;
+    private static final byte PERSONS = 0;
+    private static final byte FRIENDSHIPS = 1;
+
+    private static String key(byte kind, int iteration, String region) {
+        return kind + ":" + iteration + ":" + region;
+    }
+
+    public static class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final double rate;
+        private int iterations;
+
+        private Writer(FileChannel channel, double rate) {
+            this.channel = channel;
+            this.rate = rate;
+            this.iterations = 0;
+        }
+
+        public static Writer create(Path file, double rate) {
+            try {
+                FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+                channel.position(HEADER_BYTES);
+                return new Writer(channel, rate);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't create workload file", e);
+            }
+        }
+
+        public void writePersons(int iteration, Region region, List<Pair<Person, City>> persons) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(persons.size() * 128);
+            try (DataOutputStream body = new DataOutputStream(bytes)) {
+                body.writeInt(persons.size());
+                for (Pair<Person, City> personAndCity : persons) {
+                    Person person = personAndCity.first();
+                    writeString(body, person.email());
+                    writeString(body, person.firstName());
+                    writeString(body, person.lastName());
+                    writeString(body, person.address());
+                    body.writeBoolean(person.gender().isMale());
+                    body.writeLong(person.birthDate().toEpochSecond(ZoneOffset.UTC));
+                    writeString(body, personAndCity.second().code());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writeRecord(PERSONS, iteration, region, bytes.toByteArray());
+        }
+
+        public void writeFriendships(int iteration, Region region, List<Pair<Person, Person>> friendships) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(friendships.size() * 64);
+            try (DataOutputStream body = new DataOutputStream(bytes)) {
+                body.writeInt(friendships.size());
+                for (Pair<Person, Person> friends : friendships) {
+                    writeString(body, friends.first().email());
+                    writeString(body, friends.second().email());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writeRecord(FRIENDSHIPS, iteration, region, bytes.toByteArray());
+        }
+
+        private synchronized void writeRecord(byte kind, int iteration, Region region, byte[] body) {
+            byte[] code = region.code().getBytes(UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(1 + Integer.BYTES + Short.BYTES + code.length + Integer.BYTES);
+            header.put(kind).putInt(iteration).putShort((short) code.length).put(code).putInt(body.length).flip();
+            try {
+                while (header.hasRemaining()) channel.write(header);
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't write to workload file", e);
+            }
+            iterations = Math.max(iterations, iteration);
+        }
+
+        private static void writeString(DataOutputStream out, String string) throws IOException {
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public synchronized void close() {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(iterations).putDouble(rate).flip();
+            try {
+                while (header.hasRemaining()) channel.write(header, header.position());
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't write to workload file", e);
+            }
+        }
+    }
+
+    /**
+     * Reads a workload file through a read-only memory map, which limits it to 2 GiB. The records of an iteration are
+     * decoded by `decode()` before its region runs start, so that they take their entries without decoding them, and
+     * any record that was not decoded ahead is decoded from its own view of the map, so that regions can be read
+     * concurrently.
+     */
+    public static class Reader {
+
+        private final MappedByteBuffer buffer;
+        private final Map<Integer, Map<String, Integer>> records;
+        private final Map<String, List<?>> decoded;
+        private final int iterations;
+        private final double rate;
+
+        private Reader(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.records = new HashMap<>();
+            this.decoded = new ConcurrentHashMap<>();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a workload file of version " + VERSION);
+            }
+            this.iterations = buffer.getInt();
+            this.rate = buffer.getDouble();
+            while (buffer.hasRemaining()) {
+                byte kind = buffer.get();
+                int iteration = buffer.getInt();
+                String region = readString(buffer);
+                int length = buffer.getInt();
+                records.computeIfAbsent(iteration, i -> new HashMap<>()).put(key(kind, iteration, region), buffer.position());
+                buffer.position(buffer.position() + length);
+            }
+        }
+
+        public static Reader open(Path file) {
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                if (channel.size() > Integer.MAX_VALUE) throw new IllegalArgumentException("Workload files are limited to 2 GiB");
+                return new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't read workload file", e);
+            }
+        }
+
+        public int iterations() {
+            return iterations;
+        }
+
+        public double rate() {
+            return rate;
+        }
+
+        /**
+         * Decodes every record of an iteration, in place of any decoded for an earlier iteration and not yet taken.
+         */
+        public void decode(int iteration) {
+            decoded.clear();
+            records.getOrDefault(iteration, Map.of()).forEach((key, position) -> {
+                ByteBuffer body = buffer.duplicate();
+                body.position(position);
+                decoded.put(key, key.startsWith(PERSONS + ":") ? decodePersons(body) : decodeFriendships(body));
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<Pair<Person, City>> persons(int iteration, Region region) {
+            List<?> persons = decoded.remove(key(PERSONS, iteration, region.code()));
+            if (persons != null) return (List<Pair<Person, City>>) persons;
+            else return decodePersons(body(PERSONS, iteration, region));
+        }
+
+        @SuppressWarnings("unchecked")
+        public ArrayList<Pair<Person, Person>> friendships(int iteration, Region region) {
+            List<?> friendships = decoded.remove(key(FRIENDSHIPS, iteration, region.code()));
+            if (friendships != null) return (ArrayList<Pair<Person, Person>>) friendships;
+            else return decodeFriendships(body(FRIENDSHIPS, iteration, region));
+        }
+
+        private static List<Pair<Person, City>> decodePersons(ByteBuffer body) {
+            int size = body.getInt();
+            List<Pair<Person, City>> persons = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String email = readString(body), firstName = readString(body), lastName = readString(body);
+                String address = readString(body);
+                Gender gender = Gender.of(body.get() != 0);
+                LocalDateTime birthDate = LocalDateTime.ofEpochSecond(body.getLong(), 0, ZoneOffset.UTC);
+                persons.add(pair(new Person(email, firstName, lastName, address, gender, birthDate), new City(readString(body))));
+            }
+            return persons;
+        }
+
+        private static ArrayList<Pair<Person, Person>> decodeFriendships(ByteBuffer body) {
+            int size = body.getInt();
+            ArrayList<Pair<Person, Person>> friendships = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) friendships.add(pair(new Person(readString(body)), new Person(readString(body))));
+            return friendships;
+        }
+
+        private ByteBuffer body(byte kind, int iteration, Region region) {
+            Integer position = records.getOrDefault(iteration, Map.of()).get(key(kind, iteration, region.code()));
+            if (position == null) {
+                throw new IllegalStateException(String.format("The workload file has no %s of region '%s' in iteration %d",
+                                                              kind == PERSONS ? "persons" : "friendships", region.code(), iteration));
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.position(position);
+            return body;
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+}
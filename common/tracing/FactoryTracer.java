@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.tracing;
+
+import com.vaticle.factory.tracing.client.FactoryTracing;
+import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic;
+import com.vaticle.typedb.benchmark.common.params.Options;
+
+/**
+ * Sends traces to a remote Vaticle Factory tracing server.
+ */
+public class FactoryTracer implements Tracer {
+
+    private final FactoryTracing tracing;
+
+    private FactoryTracer(FactoryTracing tracing) {
+        this.tracing = tracing;
+    }
+
+    public static FactoryTracer create(Options.FactoryTracing options, String analysisName) {
+        FactoryTracing tracing;
+        if (options.credentials().isEmpty()) tracing = FactoryTracing.create(options.factory()).withLogging();
+        else {
+            Options.FactoryTracing.Credentials cred = options.credentials().get();
+            tracing = FactoryTracing.create(options.factory(), cred.username(), cred.token()).withLogging();
+        }
+        FactoryTracingThreadStatic.setGlobalTracingClient(tracing);
+        FactoryTracingThreadStatic.openGlobalAnalysis(options.org(), options.repo(), options.commit(), analysisName);
+        return new FactoryTracer(tracing);
+    }
+
+    @Override
+    public TraceContext contextOnThread(String agent, String tracker, int iteration) {
+        FactoryTracingThreadStatic.ThreadContext context = FactoryTracingThreadStatic.contextOnThread(tracker, iteration);
+        return context::close;
+    }
+
+    @Override
+    public Trace traceOnThread(String name) {
+        FactoryTracingThreadStatic.ThreadTrace trace = FactoryTracingThreadStatic.traceOnThread(name);
+        return trace::close;
+    }
+
+    @Override
+    public void close() {
+        tracing.close();
+    }
+}
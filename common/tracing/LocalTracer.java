@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Records traces into ring buffers owned by one thread at a time, which a background thread drains into a CSV file of
+ * spans. A buffer is taken from a pool when a context is opened on a thread and returned when it is closed, so the
+ * number of buffers is bounded by the number of concurrently open contexts rather than the number of threads.
+ *
+ * Recording a trace neither locks nor allocates: when a buffer is full, the trace is dropped and counted instead.
+ */
+public class LocalTracer implements Tracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalTracer.class);
+    private static final String HEADER = "agent,tracker,iteration,operation,start_us,duration_us";
+    private static final int BUFFER_CAPACITY = 1 << 12;
+    private static final int MAX_TRACE_DEPTH = 16;
+    private static final long FLUSH_INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+    private static final Trace NO_TRACE = () -> {};
+
+    private final ThreadLocal<SpanBuffer> threadBuffer;
+    private final ConcurrentLinkedQueue<SpanBuffer> freeBuffers;
+    private final List<SpanBuffer> buffers;
+    private final AtomicLong dropped;
+    private final BufferedWriter writer;
+    private final Thread flusher;
+    private final long epochNanosAtStart;
+    private final long nanoTimeAtStart;
+    private volatile boolean isOpen;
+
+    private LocalTracer(BufferedWriter writer) {
+        this.threadBuffer = new ThreadLocal<>();
+        this.freeBuffers = new ConcurrentLinkedQueue<>();
+        this.buffers = new CopyOnWriteArrayList<>();
+        this.dropped = new AtomicLong();
+        this.writer = writer;
+        this.epochNanosAtStart = MILLISECONDS.toNanos(System.currentTimeMillis());
+        this.nanoTimeAtStart = System.nanoTime();
+        this.isOpen = true;
+        this.flusher = new Thread(this::flushUntilClosed, "local-tracer-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    public static LocalTracer create(Path file) {
+        try {
+            LocalTracer tracer = new LocalTracer(Files.newBufferedWriter(file, UTF_8));
+            tracer.writer.write(HEADER);
+            tracer.writer.newLine();
+            tracer.flusher.start();
+            return tracer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't create trace file", e);
+        }
+    }
+
+    @Override
+    public TraceContext contextOnThread(String agent, String tracker, int iteration) {
+        SpanBuffer buffer = freeBuffers.poll();
+        if (buffer == null) {
+            buffer = new SpanBuffer();
+            buffers.add(buffer);
+        }
+        buffer.open(agent, tracker, iteration);
+        threadBuffer.set(buffer);
+        return buffer;
+    }
+
+    @Override
+    public Trace traceOnThread(String name) {
+        SpanBuffer buffer = threadBuffer.get();
+        if (buffer == null) return NO_TRACE;
+        buffer.push(name);
+        return buffer.trace;
+    }
+
+    private void flushUntilClosed() {
+        while (isOpen) {
+            flush();
+            LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+        }
+        flush();
+    }
+
+    private void flush() {
+        try {
+            for (SpanBuffer buffer : buffers) buffer.drainTo(writer);
+            writer.flush();
+        } catch (IOException e) {
+            LOG.error("Couldn't write traces", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        isOpen = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOG.error("Couldn't close trace file", e);
+        }
+        if (dropped.get() > 0) LOG.warn("{} traces were dropped as the trace buffers were full", dropped.get());
+    }
+
+    /**
+     * A single producer, single consumer ring buffer of completed spans. The producer is whichever thread currently
+     * holds the buffer and the consumer is the flusher thread.
+     */
+    private class SpanBuffer implements TraceContext {
+
+        private final String[] agents = new String[BUFFER_CAPACITY];
+        private final String[] trackers = new String[BUFFER_CAPACITY];
+        private final int[] iterations = new int[BUFFER_CAPACITY];
+        private final String[] operations = new String[BUFFER_CAPACITY];
+        private final long[] starts = new long[BUFFER_CAPACITY];
+        private final long[] durations = new long[BUFFER_CAPACITY];
+        private final String[] openOperations = new String[MAX_TRACE_DEPTH];
+        private final long[] openStarts = new long[MAX_TRACE_DEPTH];
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private final Trace trace = this::pop;
+        private String agent;
+        private String tracker;
+        private int iteration;
+        private int depth;
+
+        void open(String agent, String tracker, int iteration) {
+            this.agent = agent;
+            this.tracker = tracker;
+            this.iteration = iteration;
+            this.depth = 0;
+        }
+
+        void push(String operation) {
+            if (depth < MAX_TRACE_DEPTH) {
+                openOperations[depth] = operation;
+                openStarts[depth] = System.nanoTime();
+            }
+            depth++;
+        }
+
+        void pop() {
+            depth--;
+            if (depth >= MAX_TRACE_DEPTH) return;
+            long end = System.nanoTime();
+            long h = head.get();
+            if (h - tail.get() >= BUFFER_CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+            int slot = (int) (h & (BUFFER_CAPACITY - 1));
+            agents[slot] = agent;
+            trackers[slot] = tracker;
+            iterations[slot] = iteration;
+            operations[slot] = openOperations[depth];
+            starts[slot] = openStarts[depth];
+            durations[slot] = end - openStarts[depth];
+            head.lazySet(h + 1);
+        }
+
+        void drainTo(BufferedWriter writer) throws IOException {
+            long t = tail.get();
+            long h = head.get();
+            for (; t < h; t++) {
+                int slot = (int) (t & (BUFFER_CAPACITY - 1));
+                long startMicros = NANOSECONDS.toMicros(epochNanosAtStart + starts[slot] - nanoTimeAtStart);
+                writer.write(agents[slot] + "," + trackers[slot] + "," + iterations[slot] + "," + operations[slot] + ","
+                                     + startMicros + "," + NANOSECONDS.toMicros(durations[slot]));
+                writer.newLine();
+            }
+            tail.lazySet(t);
+        }
+
+        @Override
+        public void close() {
+            threadBuffer.remove();
+            freeBuffers.add(this);
+        }
+    }
+}
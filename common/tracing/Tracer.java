@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.common.tracing;
+
+/**
+ * The backend that records traces of agent runs. A context is opened on a thread for each region run of an agent, and
+ * traces opened on the same thread while the context is open are recorded within it.
+ */
+public interface Tracer extends AutoCloseable {
+
+    TraceContext contextOnThread(String agent, String tracker, int iteration);
+
+    Trace traceOnThread(String name);
+
+    @Override
+    void close();
+
+    interface TraceContext extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    interface Trace extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory;
+
+import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.common.seed.SeedData;
+import com.vaticle.typedb.benchmark.memory.agent.InMemoryFriendshipAgent;
+import com.vaticle.typedb.benchmark.memory.agent.InMemoryPersonAgent;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryClient;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryGraph;
+import com.vaticle.typedb.benchmark.memory.driver.InMemorySession;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryTransaction;
+import com.vaticle.typedb.benchmark.simulation.Simulation;
+import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
+import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+
+import static com.vaticle.typedb.benchmark.common.Util.printDuration;
+
+/**
+ * A simulation against an in-process graph store, which needs no database server. As its queries involve no network
+ * or storage, it gives a ceiling on throughput and isolates the cost of the simulation itself.
+ */
+public class InMemorySimulation extends Simulation<InMemoryClient, InMemorySession, InMemoryTransaction> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InMemorySimulation.class);
+
+    private InMemorySimulation(InMemoryClient client, Context context) throws Exception {
+        super(client, context);
+    }
+
+    public static InMemorySimulation create(Context context) throws Exception {
+        return new InMemorySimulation(new InMemoryClient(), context);
+    }
+
+    @Override
+    protected void initialise(SeedData geoData) {
+        InMemoryGraph graph = client.unpack();
+        graph.clear();
+        LOG.info("In-memory initialisation of world simulation data started ...");
+        Instant start = Instant.now();
+        geoData.continents().forEach(continent -> graph.putContinent(continent.code(), continent.name()));
+        geoData.countries().forEach(country -> graph.putCountry(country.code(), country.name(), country.continent().code()));
+        geoData.cities().forEach(city -> graph.putCity(city.code(), city.name(), city.country().code()));
+        geoData.universities().forEach(university -> graph.putUniversity(university.name(), university.country().code()));
+        LOG.info("In-memory initialisation of world simulation data ended in: {}", printDuration(start, Instant.now()));
+    }
+
+    @Override
+    protected PersonAgent<InMemoryTransaction> createPersonAgent(InMemoryClient client, Context context) {
+        return new InMemoryPersonAgent(client, context);
+    }
+
+    @Override
+    protected FriendshipAgent<InMemoryTransaction> createFriendshipAgent(InMemoryClient client, Context context) {
+        return new InMemoryFriendshipAgent(client, context);
+    }
+}
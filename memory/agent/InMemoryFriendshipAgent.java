@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.agent;
+
+import com.vaticle.typedb.benchmark.common.concept.Country;
+import com.vaticle.typedb.benchmark.common.concept.Person;
+import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryClient;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryTransaction;
+import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
+import com.vaticle.typedb.common.collection.Pair;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.vaticle.typedb.common.collection.Collections.pair;
+import static java.util.stream.Collectors.toList;
+
+public class InMemoryFriendshipAgent extends FriendshipAgent<InMemoryTransaction> {
+
+    public InMemoryFriendshipAgent(InMemoryClient client, Context context) {
+        super(client, context);
+    }
+
+    @Override
+    protected Stream<Person> matchTeenagers(InMemoryTransaction tx, Country country, LocalDateTime birthDate) {
+        return tx.residents(country.code(), birthDate).map(person -> new Person(person.email()));
+    }
+
+    @Override
+    protected void insertFriends(InMemoryTransaction tx, String email1, String email2) {
+        boolean inserted = tx.insertFriendship(email1, email2);
+        assert inserted;
+    }
+
+    @Override
+    protected List<Pair<Person, Person>> matchFriendships(InMemoryTransaction tx, List<Pair<Person, Person>> friendships) {
+        return friendships.stream().filter(friends -> tx.isFriendship(friends.first().email(), friends.second().email()))
+                .map(friends -> pair(new Person(friends.first().email()), new Person(friends.second().email())))
+                .collect(toList());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.agent;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Gender;
+import com.vaticle.typedb.benchmark.common.concept.Person;
+import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryClient;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryGraph;
+import com.vaticle.typedb.benchmark.memory.driver.InMemoryTransaction;
+import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
+import com.vaticle.typedb.common.collection.Pair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.vaticle.typedb.common.collection.Collections.pair;
+
+public class InMemoryPersonAgent extends PersonAgent<InMemoryTransaction> {
+
+    public InMemoryPersonAgent(InMemoryClient client, Context context) {
+        super(client, context);
+    }
+
+    @Override
+    protected void insertPerson(InMemoryTransaction tx, String email, String firstName, String lastName,
+                                String address, Gender gender, LocalDateTime birthDate, City city) {
+        Optional<InMemoryGraph.PersonNode> inserted = tx.insertPerson(email, firstName, lastName, address, gender, birthDate, city.code());
+        assert inserted.isPresent();
+    }
+
+    @Override
+    protected List<Pair<Person, City>> matchPersons(InMemoryTransaction tx, List<String> emails) {
+        List<Pair<Person, City>> answers = new ArrayList<>();
+        for (String email : emails) {
+            tx.person(email).ifPresent(inserted -> {
+                assert inserted.birthPlace() == inserted.residence();
+                Person person = new Person(inserted.email(), inserted.firstName(), inserted.lastName(), inserted.address(),
+                                           inserted.gender(), inserted.birthDate());
+                answers.add(pair(person, new City(inserted.residence().code())));
+            });
+        }
+        return answers;
+    }
+}
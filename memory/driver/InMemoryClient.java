@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.driver;
+
+import com.vaticle.typedb.benchmark.common.concept.Region;
+import com.vaticle.typedb.benchmark.simulation.driver.Client;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryClient implements Client<InMemorySession, InMemoryTransaction> {
+
+    private final InMemoryGraph graph;
+    private final ConcurrentHashMap<String, InMemorySession> sessionMap;
+
+    public InMemoryClient() {
+        this.graph = new InMemoryGraph();
+        this.sessionMap = new ConcurrentHashMap<>();
+    }
+
+    public InMemoryGraph unpack() {
+        return graph;
+    }
+
+    @Override
+    public InMemorySession session(Region region) {
+        return sessionMap.computeIfAbsent(region.group(), k -> new InMemorySession(graph));
+    }
+
+    @Override
+    public void resetStatistics() {
+        // The graph statistics count what the graph holds, including what warm-up wrote, rather than the queries run
+    }
+
+    @Override
+    public String printStatistics() {
+        return graph.printStatistics();
+    }
+
+    @Override
+    public void closeSessions() {
+        sessionMap.values().forEach(InMemorySession::close);
+        sessionMap.clear();
+    }
+
+    @Override
+    public void close() {
+        closeSessions();
+        graph.clear();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.driver;
+
+import com.vaticle.typedb.benchmark.common.concept.Gender;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * An in-process graph store of the simulation's world, indexed for the queries the agents perform, and safe to read
+ * and write from many threads at once.
+ */
+public class InMemoryGraph {
+
+    private final Map<String, RegionNode> continents;
+    private final Map<String, RegionNode> countries;
+    private final Map<String, RegionNode> cities;
+    private final Queue<UniversityNode> universities;
+    private final Map<String, PersonNode> persons;
+    private final Map<String, Map<LocalDateTime, Queue<PersonNode>>> residentsByCountryAndBirthDate;
+    private final AtomicLong friendships;
+
+    public InMemoryGraph() {
+        this.continents = new ConcurrentHashMap<>();
+        this.countries = new ConcurrentHashMap<>();
+        this.cities = new ConcurrentHashMap<>();
+        this.universities = new ConcurrentLinkedQueue<>();
+        this.persons = new ConcurrentHashMap<>();
+        this.residentsByCountryAndBirthDate = new ConcurrentHashMap<>();
+        this.friendships = new AtomicLong();
+    }
+
+    public void clear() {
+        continents.clear();
+        countries.clear();
+        cities.clear();
+        universities.clear();
+        persons.clear();
+        residentsByCountryAndBirthDate.clear();
+        friendships.set(0);
+    }
+
+    public void putContinent(String code, String name) {
+        putUnique(continents, new RegionNode(code, name, null));
+    }
+
+    public void putCountry(String code, String name, String continentCode) {
+        putUnique(countries, new RegionNode(code, name, get(continents, continentCode)));
+    }
+
+    public void putCity(String code, String name, String countryCode) {
+        putUnique(cities, new RegionNode(code, name, get(countries, countryCode)));
+    }
+
+    public void putUniversity(String name, String countryCode) {
+        universities.add(new UniversityNode(name, get(countries, countryCode)));
+    }
+
+    public RegionNode city(String code) {
+        return cities.get(code);
+    }
+
+    public PersonNode person(String email) {
+        return persons.get(email);
+    }
+
+    public Stream<PersonNode> residents(String countryCode, LocalDateTime birthDate) {
+        Map<LocalDateTime, Queue<PersonNode>> residents = residentsByCountryAndBirthDate.get(countryCode);
+        if (residents == null || !residents.containsKey(birthDate)) return Stream.empty();
+        return residents.get(birthDate).stream();
+    }
+
+    void putPerson(PersonNode person) {
+        if (persons.putIfAbsent(person.email(), person) != null) {
+            throw new IllegalStateException("A person with the email '" + person.email() + "' already exists");
+        }
+        residentsByCountryAndBirthDate.computeIfAbsent(person.residence().parent().code(), c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(person.birthDate(), b -> new ConcurrentLinkedQueue<>()).add(person);
+    }
+
+    void putFriendship(PersonNode person1, PersonNode person2) {
+        person1.friends.add(person2.email());
+        friendships.incrementAndGet();
+    }
+
+    public String printStatistics() {
+        return "Benchmark statistic:\n\n" +
+                "Count 'continent': " + continents.size() + "\n" +
+                "Count 'country': " + countries.size() + "\n" +
+                "Count 'city': " + cities.size() + "\n" +
+                "Count 'university': " + universities.size() + "\n" +
+                "Count 'person': " + persons.size() + "\n" +
+                "Count 'friendship': " + friendships.get() + "\n\n";
+    }
+
+    private static void putUnique(Map<String, RegionNode> regions, RegionNode region) {
+        if (regions.putIfAbsent(region.code(), region) != null) {
+            throw new IllegalStateException("A region with the code '" + region.code() + "' already exists");
+        }
+    }
+
+    private static RegionNode get(Map<String, RegionNode> regions, String code) {
+        RegionNode region = regions.get(code);
+        if (region == null) throw new IllegalStateException("No region exists with the code '" + code + "'");
+        return region;
+    }
+
+    public static class RegionNode {
+
+        private final String code;
+        private final String name;
+        private final RegionNode parent;
+
+        RegionNode(String code, String name, RegionNode parent) {
+            this.code = code;
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String code() {
+            return code;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RegionNode parent() {
+            return parent;
+        }
+    }
+
+    public static class UniversityNode {
+
+        private final String name;
+        private final RegionNode country;
+
+        UniversityNode(String name, RegionNode country) {
+            this.name = name;
+            this.country = country;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RegionNode country() {
+            return country;
+        }
+    }
+
+    public static class PersonNode {
+
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+        private final String address;
+        private final Gender gender;
+        private final LocalDateTime birthDate;
+        private final RegionNode birthPlace;
+        private final RegionNode residence;
+        private final Set<String> friends;
+
+        PersonNode(String email, String firstName, String lastName, String address, Gender gender,
+                   LocalDateTime birthDate, RegionNode birthPlace, RegionNode residence) {
+            this.email = email;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.address = address;
+            this.gender = gender;
+            this.birthDate = birthDate;
+            this.birthPlace = birthPlace;
+            this.residence = residence;
+            this.friends = ConcurrentHashMap.newKeySet();
+        }
+
+        public String email() {
+            return email;
+        }
+
+        public String firstName() {
+            return firstName;
+        }
+
+        public String lastName() {
+            return lastName;
+        }
+
+        public String address() {
+            return address;
+        }
+
+        public Gender gender() {
+            return gender;
+        }
+
+        public LocalDateTime birthDate() {
+            return birthDate;
+        }
+
+        public RegionNode birthPlace() {
+            return birthPlace;
+        }
+
+        public RegionNode residence() {
+            return residence;
+        }
+
+        public boolean isFriendOf(String email) {
+            return friends.contains(email);
+        }
+    }
+}
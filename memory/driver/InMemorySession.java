@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.driver;
+
+import com.vaticle.typedb.benchmark.simulation.driver.Session;
+
+public class InMemorySession implements Session<InMemoryTransaction> {
+
+    private final InMemoryGraph graph;
+
+    public InMemorySession(InMemoryGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public InMemoryTransaction transaction() {
+        return new InMemoryTransaction(graph);
+    }
+
+    @Override
+    public InMemoryTransaction readTransaction() {
+        return new InMemoryTransaction(graph);
+    }
+
+    @Override
+    public void close() {}
+}
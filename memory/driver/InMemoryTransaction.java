@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.memory.driver;
+
+import com.vaticle.typedb.benchmark.common.concept.Gender;
+import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
+import com.vaticle.typedb.common.collection.Pair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.vaticle.typedb.common.collection.Collections.pair;
+
+/**
+ * Buffers writes until they are committed to the graph, and discards them if closed without committing. Reads see the
+ * transaction's own writes on top of the committed state of the graph.
+ */
+public class InMemoryTransaction implements Transaction {
+
+    private final InMemoryGraph graph;
+    private final Map<String, InMemoryGraph.PersonNode> insertedPersons;
+    private final List<Pair<InMemoryGraph.PersonNode, InMemoryGraph.PersonNode>> insertedFriendships;
+
+    public InMemoryTransaction(InMemoryGraph graph) {
+        this.graph = graph;
+        this.insertedPersons = new LinkedHashMap<>();
+        this.insertedFriendships = new ArrayList<>();
+    }
+
+    public Optional<InMemoryGraph.PersonNode> insertPerson(String email, String firstName, String lastName, String address,
+                                                           Gender gender, LocalDateTime birthDate, String cityCode) {
+        InMemoryGraph.RegionNode city = graph.city(cityCode);
+        if (city == null) return Optional.empty();
+        InMemoryGraph.PersonNode person = new InMemoryGraph.PersonNode(
+                email, firstName, lastName, address, gender, birthDate, city, city
+        );
+        insertedPersons.put(email, person);
+        return Optional.of(person);
+    }
+
+    public Optional<InMemoryGraph.PersonNode> person(String email) {
+        InMemoryGraph.PersonNode person = insertedPersons.get(email);
+        if (person == null) person = graph.person(email);
+        return Optional.ofNullable(person);
+    }
+
+    public Stream<InMemoryGraph.PersonNode> residents(String countryCode, LocalDateTime birthDate) {
+        return Stream.concat(graph.residents(countryCode, birthDate), insertedPersons.values().stream().filter(
+                person -> person.residence().parent().code().equals(countryCode) && person.birthDate().equals(birthDate)
+        ));
+    }
+
+    public boolean insertFriendship(String email1, String email2) {
+        Optional<InMemoryGraph.PersonNode> person1 = person(email1), person2 = person(email2);
+        if (person1.isEmpty() || person2.isEmpty()) return false;
+        insertedFriendships.add(pair(person1.get(), person2.get()));
+        return true;
+    }
+
+    public boolean isFriendship(String email1, String email2) {
+        return insertedFriendships.stream().anyMatch(f -> f.first().email().equals(email1) && f.second().email().equals(email2))
+                || person(email1).map(person -> person.isFriendOf(email2)).orElse(false);
+    }
+
+    @Override
+    public void commit() {
+        insertedPersons.values().forEach(graph::putPerson);
+        insertedFriendships.forEach(friendship -> graph.putFriendship(friendship.first(), friendship.second()));
+        close();
+    }
+
+    @Override
+    public void close() {
+        insertedPersons.clear();
+        insertedFriendships.clear();
+    }
+}
@@ -19,10 +19,11 @@ package com.vaticle.typedb.benchmark.neo4j;
 
 import com.vaticle.typedb.benchmark.common.concept.Continent;
 import com.vaticle.typedb.benchmark.common.concept.Country;
-import com.vaticle.typedb.benchmark.common.concept.Currency;
 import com.vaticle.typedb.benchmark.common.concept.Global;
+import com.vaticle.typedb.benchmark.common.concept.University;
 import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.common.seed.SeedData;
+import com.vaticle.typedb.benchmark.common.seed.SeedLoader;
 import com.vaticle.typedb.benchmark.neo4j.agent.Neo4jFriendshipAgent;
 import com.vaticle.typedb.benchmark.neo4j.agent.Neo4jPersonAgent;
 import com.vaticle.typedb.benchmark.neo4j.driver.Neo4jClient;
@@ -40,27 +41,54 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.vaticle.typedb.benchmark.common.Util.printDuration;
+import static java.util.stream.Collectors.toList;
+import static org.neo4j.driver.Values.parameters;
 
 public class Neo4JSimulation extends Simulation<Neo4jClient, Neo4jSession, Neo4jTransaction> {
 
     private static final Logger LOG = LoggerFactory.getLogger(Neo4JSimulation.class);
+    private static final String CODE = "code", NAME = "name", CURRENCY = "currency", CURRENCIES = "currencies", ROWS = "rows";
+
+    private static final String INSERT_CONTINENTS = "UNWIND $rows AS row " +
+            "CREATE (x:Continent:Region {code: row.code, name: row.name})";
+
+    private static final String INSERT_COUNTRIES = "MATCH (c:Continent {code: $code}) " +
+            "UNWIND $rows AS row " +
+            "CREATE (x:Country:Region {code: row.code, name: row.name})-[:CONTAINED_IN]->(c) " +
+            "SET x += row.currencies";
+
+    private static final String INSERT_CITIES = "MATCH (c:Country {code: $code}) " +
+            "UNWIND $rows AS row " +
+            "CREATE (x:City:Region {code: row.code, name: row.name})-[:CONTAINED_IN]->(c)";
+
+    private static final String MATCH_COUNTRY_IDS = "MATCH (x:Country) RETURN x.code, id(x)";
+
+    private static final String MATCH_CITY_IDS = "MATCH (x:City) RETURN x.code, id(x)";
+
+    private static final String INSERT_UNIVERSITIES = "MATCH (c:Country {code: $code}) " +
+            "UNWIND $rows AS name " +
+            "CREATE (x:University {name: name})-[:LOCATED_IN]->(c)";
 
     private Neo4JSimulation(Neo4jClient client, Context context) throws Exception {
         super(client, context);
     }
 
     public static Neo4JSimulation create(String hostUri, Context context) throws Exception {
-        return new Neo4JSimulation(new Neo4jClient(hostUri), context);
+        return new Neo4JSimulation(new Neo4jClient(hostUri, context.neo4j().isAutoCommit()), context);
     }
 
     @Override
     protected void initialise(SeedData geoData) {
         Driver nativeDriver = client.unpack();
+        client.handles().invalidate();
         initDatabase(nativeDriver);
         initData(nativeDriver, geoData);
+        initHandles(nativeDriver);
     }
 
     private void initDatabase(Driver nativeDriver) {
@@ -102,78 +130,64 @@ public class Neo4JSimulation extends Simulation<Neo4jClient, Neo4jSession, Neo4j
     }
 
     private void initData(Driver nativeDriver, SeedData geoData) {
-        LOG.info("Neo4j initialisation of world simulation data started ...");
-        Instant start = Instant.now();
-        initContinents(nativeDriver, geoData.global());
-        LOG.info("Neo4j initialisation of world simulation data ended in: {}", printDuration(start, Instant.now()));
+        try (SeedLoader loader = new SeedLoader("Neo4j", context.initialisation().getParallelism())) {
+            LOG.info("Neo4j initialisation of world simulation data started ...");
+            Instant start = Instant.now();
+            loader.load("continents", List.of(geoData.global()), global -> initContinents(nativeDriver, global));
+            loader.load("countries", geoData.global().continents(), continent -> initCountries(nativeDriver, continent));
+            loader.load("cities", geoData.countries(), country -> initCities(nativeDriver, country));
+            loader.load("universities", geoData.countries(), country -> initUniversities(nativeDriver, country));
+            LOG.info("Neo4j initialisation of world simulation data ended in: {}", printDuration(start, Instant.now()));
+        }
+    }
+
+    private void initHandles(Driver nativeDriver) {
+        try (Session session = nativeDriver.session()) {
+            session.run(new Query(MATCH_COUNTRY_IDS)).list().forEach(
+                    record -> client.handles().putCountry(record.get(0).asString(), record.get(1).asLong())
+            );
+            session.run(new Query(MATCH_CITY_IDS)).list().forEach(
+                    record -> client.handles().putCity(record.get(0).asString(), record.get(1).asLong())
+            );
+        }
     }
 
     private void initContinents(Driver nativeDriver, Global global) {
-        global.continents().parallelStream().forEach(continent -> {
-            try (Session session = nativeDriver.session()) {
-                Transaction tx = session.beginTransaction();
-                Query interpolatedQuery = new Query(String.format(
-                        "CREATE (x:Continent:Region {code: '%s', name: '%s'})", continent.code(), escapeQuotes(continent.name())
-                ));
-                tx.run(interpolatedQuery);
-                tx.commit();
-                initCountries(nativeDriver, continent);
-            }
-        });
+        List<Map<String, Object>> continents = global.continents().stream().map(continent -> Map.<String, Object>of(
+                CODE, continent.code(), NAME, continent.name()
+        )).collect(toList());
+        run(nativeDriver, new Query(INSERT_CONTINENTS, parameters(ROWS, continents)));
     }
 
     private void initCountries(Driver nativeDriver, Continent continent) {
-        continent.countries().parallelStream().forEach(country -> {
-            try (Session session = nativeDriver.session()) {
-                Transaction tx = session.beginTransaction();
-                StringBuilder currencyProps = new StringBuilder();
-                if (!country.currencies().isEmpty()) {
-                    currencyProps.append(", ");
-                    for (int i = 0; i < country.currencies().size(); i++) {
-                        Currency currency = country.currencies().get(i);
-                        currencyProps.append("currency").append(i + 1).append(": '").append(currency.code()).append("'");
-                        if (i + 1 < country.currencies().size()) currencyProps.append(", ");
-                    }
-
-                }
-                Query query = new Query(String.format(
-                        "MATCH (c:Continent {code: '%s'}) CREATE (x:Country:Region {code: '%s', name: '%s'%s})-[:CONTAINED_IN]->(c)",
-                        continent.code(), country.code(), escapeQuotes(country.name()), currencyProps
-                ));
-                tx.run(query);
-                tx.commit();
-                initCities(session, country);
-                initUniversities(session, country);
+        List<Map<String, Object>> countries = continent.countries().stream().map(country -> {
+            Map<String, Object> currencies = new HashMap<>();
+            for (int i = 0; i < country.currencies().size(); i++) {
+                currencies.put(CURRENCY + (i + 1), country.currencies().get(i).code());
             }
-        });
+            return Map.<String, Object>of(CODE, country.code(), NAME, country.name(), CURRENCIES, currencies);
+        }).collect(toList());
+        run(nativeDriver, new Query(INSERT_COUNTRIES, parameters(CODE, continent.code(), ROWS, countries)));
     }
 
-    private void initCities(Session session, Country country) {
-        Transaction tx = session.beginTransaction();
-        country.cities().forEach(city -> {
-            Query query = new Query(String.format(
-                    "MATCH (c:Country {code: '%s'}) CREATE (x:City:Region {code: '%s', name: '%s'})-[:CONTAINED_IN]->(c)",
-                    country.code(), city.code(), escapeQuotes(city.name())
-            ));
-            tx.run(query);
-        });
-        tx.commit();
+    private void initCities(Driver nativeDriver, Country country) {
+        List<Map<String, Object>> cities = country.cities().stream().map(city -> Map.<String, Object>of(
+                CODE, city.code(), NAME, city.name()
+        )).collect(toList());
+        run(nativeDriver, new Query(INSERT_CITIES, parameters(CODE, country.code(), ROWS, cities)));
     }
 
-    private void initUniversities(Session session, Country country) {
-        Transaction tx = session.beginTransaction();
-        country.universities().forEach(university -> {
-            Query query = new Query(String.format(
-                    "MATCH (c:Country {code: '%s'}) CREATE (x:University {name: '%s'})-[:LOCATED_IN]->(c)",
-                    country.code(), escapeQuotes(university.name())
-            ));
-            tx.run(query);
-        });
-        tx.commit();
+    private void initUniversities(Driver nativeDriver, Country country) {
+        List<String> universities = country.universities().stream().map(University::name).collect(toList());
+        run(nativeDriver, new Query(INSERT_UNIVERSITIES, parameters(CODE, country.code(), ROWS, universities)));
     }
 
-    private String escapeQuotes(String string) {
-        return string.replace("'", "\\'");
+    private void run(Driver nativeDriver, Query query) {
+        try (Session session = nativeDriver.session()) {
+            Transaction tx = session.beginTransaction();
+            tx.run(query);
+            tx.commit();
+        }
     }
 
     @Override
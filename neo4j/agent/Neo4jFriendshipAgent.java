@@ -23,12 +23,11 @@ import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.neo4j.driver.Neo4jClient;
 import com.vaticle.typedb.benchmark.neo4j.driver.Neo4jTransaction;
 import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import com.vaticle.typedb.common.collection.Pair;
 import org.neo4j.driver.Query;
-import org.neo4j.driver.Record;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -37,60 +36,78 @@ import java.util.stream.Stream;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.BIRTH_DATE;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.CODE;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.EMAIL;
+import static com.vaticle.typedb.benchmark.neo4j.Labels.ID;
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static java.util.stream.Collectors.toList;
+import static org.neo4j.driver.Values.parameters;
 
 public class Neo4jFriendshipAgent extends FriendshipAgent<Neo4jTransaction> {
 
     private static final String X = "x", Y = "y";
+    private static final String ROWS = "rows", EMAIL_1 = "email1", EMAIL_2 = "email2";
+
+    private static final String MATCH_TEENAGERS = "MATCH (person:Person {birthDate: $birthDate})" +
+            "-[:RESIDES_IN]->(city:City)-[:CONTAINED_IN]->(country:Country {code: $code}) \n" +
+            "RETURN person.email";
+
+    private static final String MATCH_TEENAGERS_BY_ID = "MATCH (country) WHERE id(country) = $id \n" +
+            "MATCH (person:Person {birthDate: $birthDate})-[:RESIDES_IN]->(city:City)-[:CONTAINED_IN]->(country) \n" +
+            "RETURN person.email";
+
+    private static final String INSERT_FRIENDS = "MATCH " +
+            "(x:Person {email: $email1}), \n" +
+            "(y:Person {email: $email2}) \n" +
+            "CREATE (x)-[:FRIENDS_WITH]->(y)";
+
+    private static final String INSERT_FRIENDSHIPS = "UNWIND $rows AS row \n" +
+            "MATCH " +
+            "(x:Person {email: row.email1}), \n" +
+            "(y:Person {email: row.email2}) \n" +
+            "CREATE (x)-[:FRIENDS_WITH]->(y)";
+
+    private static final String MATCH_FRIENDSHIPS = "UNWIND $rows AS row \n" +
+            "MATCH (x:Person {email: row.email1})-[:FRIENDS_WITH]->(y:Person {email: row.email2}) \n" +
+            "RETURN DISTINCT x.email, y.email";
+
+    private final HandleCache<Long> handles;
 
     public Neo4jFriendshipAgent(Neo4jClient client, Context context) {
         super(client, context);
+        this.handles = client.handles();
     }
 
     @Override
     protected Stream<Person> matchTeenagers(Neo4jTransaction tx, Country country, LocalDateTime birthDate) {
-        String query = "MATCH (person:Person {birthDate: $birthDate})" +
-                "-[:RESIDES_IN]->(city:City)-[:CONTAINED_IN]->(country:Country {code: $code}) \n" +
-                "RETURN person.email";
-        HashMap<String, Object> parameters = new HashMap<>() {{
-            put(CODE, country.code());
-            put(BIRTH_DATE, birthDate);
-        }};
-        return tx.execute(new Query(query, parameters)).stream().map(
+        Optional<Long> countryId = handles.country(country);
+        Query query = countryId.isPresent()
+                ? new Query(MATCH_TEENAGERS_BY_ID, parameters(ID, countryId.get(), BIRTH_DATE, birthDate))
+                : new Query(MATCH_TEENAGERS, parameters(CODE, country.code(), BIRTH_DATE, birthDate));
+        return tx.execute(query).stream().map(
                 record -> new Person((String) record.asMap().get("person.email"))
         );
     }
 
     @Override
-    protected Optional<Pair<Person, Person>> insertFriends(Neo4jTransaction tx, String email1, String email2) {
-        String query = "MATCH " +
-                "(x:Person {email: $email1}), \n" +
-                "(y:Person {email: $email2}) \n" +
-                "CREATE (x)-[:FRIENDS_WITH]->(y)";
-        HashMap<String, Object> parameters = new HashMap<>() {{
-            put("email1", email1);
-            put("email2", email2);
-        }};
-        tx.execute(new Query(query, parameters));
-        if (context.isReporting()) return report(tx, email1, email2);
-        else return Optional.empty();
+    protected void insertFriends(Neo4jTransaction tx, String email1, String email2) {
+        tx.execute(new Query(INSERT_FRIENDS, parameters(EMAIL_1, email1, EMAIL_2, email2)));
+    }
+
+    @Override
+    protected void insertFriendships(Neo4jTransaction tx, List<Pair<Person, Person>> friendships) {
+        tx.execute(new Query(INSERT_FRIENDSHIPS, parameters(ROWS, rows(friendships))));
+    }
+
+    @Override
+    protected List<Pair<Person, Person>> matchFriendships(Neo4jTransaction tx, List<Pair<Person, Person>> friendships) {
+        return tx.execute(new Query(MATCH_FRIENDSHIPS, parameters(ROWS, rows(friendships)))).stream().map(answer -> {
+            Map<String, Object> inserted = answer.asMap();
+            return pair(new Person((String) inserted.get(X + "." + EMAIL)), new Person((String) inserted.get(Y + "." + EMAIL)));
+        }).collect(toList());
     }
 
-    private Optional<Pair<Person, Person>> report(Neo4jTransaction tx, String email1, String email2) {
-        String query = "MATCH " +
-                "(x:Person {email: $email1}), \n" +
-                "(y:Person {email: $email2}) \n" +
-                "(x)-[:FRIENDS_WITH]->(y) \n" +
-                "RETURN x.email, y.email";
-        HashMap<String, Object> parameters = new HashMap<>() {{
-            put("email1", email1);
-            put("email2", email2);
-        }};
-        List<Record> answers = tx.execute(new Query(query, parameters));
-        assert answers.size() == 1;
-        Map<String, Object> inserted = answers.get(0).asMap();
-        Person person1 = new Person((String) inserted.get(X + "." + EMAIL));
-        Person person2 = new Person((String) inserted.get(Y + "." + EMAIL));
-        return Optional.of(pair(person1, person2));
+    private static List<Map<String, Object>> rows(List<Pair<Person, Person>> friendships) {
+        return friendships.stream().map(friends -> Map.<String, Object>of(
+                EMAIL_1, friends.first().email(), EMAIL_2, friends.second().email()
+        )).collect(toList());
     }
 }
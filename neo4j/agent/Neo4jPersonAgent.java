@@ -24,12 +24,12 @@ import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.neo4j.driver.Neo4jClient;
 import com.vaticle.typedb.benchmark.neo4j.driver.Neo4jTransaction;
 import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import com.vaticle.typedb.common.collection.Pair;
 import org.neo4j.driver.Query;
-import org.neo4j.driver.Record;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,52 +41,102 @@ import static com.vaticle.typedb.benchmark.neo4j.Labels.CODE;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.EMAIL;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.FIRST_NAME;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.GENDER;
+import static com.vaticle.typedb.benchmark.neo4j.Labels.ID;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.LAST_NAME;
 import static com.vaticle.typedb.benchmark.neo4j.Labels.PERSON;
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static java.util.stream.Collectors.toList;
+import static org.neo4j.driver.Values.parameters;
 
 public class Neo4jPersonAgent extends PersonAgent<Neo4jTransaction> {
 
+    private static final String ROWS = "rows", EMAILS = "emails";
+
+    private static final String CREATE_PERSON = "CREATE (person:Person {" +
+            "email: $email, " +
+            "firstName: $firstName, " +
+            "lastName: $lastName, " +
+            "address: $address, " +
+            "gender: $gender, " +
+            "birthDate: $birthDate" +
+            "})-[:BORN_IN]->(c), " +
+            "(person)-[:RESIDES_IN]->(c)";
+
+    private static final String INSERT_PERSON = "MATCH (c:City {code: $code}) " + CREATE_PERSON;
+
+    private static final String INSERT_PERSON_BY_ID = "MATCH (c) WHERE id(c) = $id " + CREATE_PERSON;
+
+    private static final String CREATE_PERSONS = "CREATE (person:Person {" +
+            "email: row.email, " +
+            "firstName: row.firstName, " +
+            "lastName: row.lastName, " +
+            "address: row.address, " +
+            "gender: row.gender, " +
+            "birthDate: row.birthDate" +
+            "})-[:BORN_IN]->(c), " +
+            "(person)-[:RESIDES_IN]->(c)";
+
+    private static final String INSERT_PERSONS = "UNWIND $rows AS row MATCH (c:City {code: row.code}) " + CREATE_PERSONS;
+
+    private static final String INSERT_PERSONS_BY_ID = "UNWIND $rows AS row MATCH (c) WHERE id(c) = row.id " + CREATE_PERSONS;
+
+    private static final String MATCH_PERSONS = "UNWIND $emails AS email " +
+            "MATCH (person:Person {email: email})-[:BORN_IN]->(city:City), " +
+            "(person)-[:RESIDES_IN]->(city) " +
+            "RETURN person.email, person.firstName, person.lastName, person.address, " +
+            "person.gender, person.birthDate, city.code";
+
+    private final HandleCache<Long> handles;
+
     public Neo4jPersonAgent(Neo4jClient client, Context context) {
         super(client, context);
+        this.handles = client.handles();
+    }
+
+    @Override
+    protected void insertPerson(Neo4jTransaction tx, String email, String firstName, String lastName,
+                                String address, Gender gender, LocalDateTime birthDate, City city) {
+        Optional<Long> cityId = handles.city(city);
+        tx.execute(new Query(cityId.isPresent() ? INSERT_PERSON_BY_ID : INSERT_PERSON, parameters(
+                cityId.isPresent() ? ID : CODE, cityId.isPresent() ? cityId.get() : city.code(),
+                EMAIL, email,
+                FIRST_NAME, firstName,
+                LAST_NAME, lastName,
+                ADDRESS, address,
+                GENDER, gender.value(),
+                BIRTH_DATE, birthDate
+        )));
+    }
+
+    @Override
+    protected void insertPersons(Neo4jTransaction tx, List<Pair<Person, City>> persons) {
+        // Cities are referred to by node id only if every city in the batch is cached, so that one query fits all rows
+        List<Long> cityIds = new ArrayList<>(persons.size());
+        for (Pair<Person, City> person : persons) cityIds.add(handles.city(person.second()).orElse(null));
+        boolean isResolved = !cityIds.contains(null);
+        List<Map<String, Object>> rows = new ArrayList<>(persons.size());
+        for (int i = 0; i < persons.size(); i++) {
+            Pair<Person, City> person = persons.get(i);
+            rows.add(Map.of(
+                    isResolved ? ID : CODE, isResolved ? cityIds.get(i) : person.second().code(),
+                    EMAIL, person.first().email(),
+                    FIRST_NAME, person.first().firstName(),
+                    LAST_NAME, person.first().lastName(),
+                    ADDRESS, person.first().address(),
+                    GENDER, person.first().gender().value(),
+                    BIRTH_DATE, person.first().birthDate()
+            ));
+        }
+        tx.execute(new Query(isResolved ? INSERT_PERSONS_BY_ID : INSERT_PERSONS, parameters(ROWS, rows)));
     }
 
     @Override
-    protected Optional<Pair<Person, City>> insertPerson(Neo4jTransaction tx, String email, String firstName, String lastName,
-                                                        String address, Gender gender, LocalDateTime birthDate, City city) {
-        String query = "MATCH (c:City {code: $code}) " +
-                "CREATE (person:Person {" +
-                "email: $email, " +
-                "firstName: $firstName, " +
-                "lastName: $lastName, " +
-                "address: $address, " +
-                "gender: $gender, " +
-                "birthDate: $birthDate" +
-                "})-[:BORN_IN]->(c), " +
-                "(person)-[:RESIDES_IN]->(c)";
-        HashMap<String, Object> parameters = new HashMap<>() {{
-            put(CODE, city.code());
-            put(EMAIL, email);
-            put(FIRST_NAME, firstName);
-            put(LAST_NAME, lastName);
-            put(ADDRESS, address);
-            put(GENDER, gender.value());
-            put(BIRTH_DATE, birthDate);
-        }};
-        tx.execute(new Query(query, parameters));
-        if (context.isReporting()) return report(tx, email);
-        else return Optional.empty();
+    protected List<Pair<Person, City>> matchPersons(Neo4jTransaction tx, List<String> emails) {
+        return tx.execute(new Query(MATCH_PERSONS, parameters(EMAILS, emails))).stream()
+                .map(answer -> personAndCity(answer.asMap())).collect(toList());
     }
 
-    private Optional<Pair<Person, City>> report(Neo4jTransaction tx, String email) {
-        List<Record> answers = tx.execute(new Query(
-                "MATCH (person:Person {email: '" + email + "'})-[:BORN_IN]->(city:City), " +
-                        "(person)-[:RESIDES_IN]->(city) " +
-                        "RETURN person.email, person.firstName, person.lastName, person.address, " +
-                        "person.gender, person.birthDate, city.code"
-        ));
-        assert answers.size() == 1;
-        Map<String, Object> inserted = answers.get(0).asMap();
+    private Pair<Person, City> personAndCity(Map<String, Object> inserted) {
         Person person = new Person((String) inserted.get(PERSON + "." + EMAIL),
                                    (String) inserted.get(PERSON + "." + FIRST_NAME),
                                    (String) inserted.get(PERSON + "." + LAST_NAME),
@@ -94,6 +144,6 @@ public class Neo4jPersonAgent extends PersonAgent<Neo4jTransaction> {
                                    Gender.of((String) inserted.get(PERSON + "." + GENDER)),
                                    (LocalDateTime) inserted.get(PERSON + "." + BIRTH_DATE));
         City city = new City((String) inserted.get(CITY + "." + CODE));
-        return Optional.of(pair(person, city));
+        return pair(person, city);
     }
 }
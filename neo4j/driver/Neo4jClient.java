@@ -19,6 +19,7 @@ package com.vaticle.typedb.benchmark.neo4j.driver;
 
 import com.vaticle.typedb.benchmark.common.concept.Region;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import org.neo4j.driver.AuthTokens;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
@@ -28,24 +29,40 @@ import org.neo4j.driver.Result;
 
 import java.text.DecimalFormat;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class Neo4jClient implements Client<Neo4jSession, Neo4jTransaction> {
 
     private final Driver nativeDriver;
-    private final ConcurrentHashMap<String, Neo4jSession> sessionMap = new ConcurrentHashMap<>();
+    private final Neo4jSession session;
+    private final HandleCache<Long> handles = new HandleCache<>();
 
-    public Neo4jClient(String hostUri) {
+    public Neo4jClient(String hostUri, boolean isAutoCommit) {
         this.nativeDriver = GraphDatabase.driver(hostUri, AuthTokens.basic("neo4j", "admin"));
+        this.session = new Neo4jSession(nativeDriver, isAutoCommit);
     }
 
     public Driver unpack() {
         return nativeDriver;
     }
 
+    /**
+     * @return the node ids of the cities and countries in the database
+     */
+    public HandleCache<Long> handles() {
+        return handles;
+    }
+
+    /**
+     * Every region shares a single session, which holds no native session, as each transaction opens its own.
+     */
     @Override
     public Neo4jSession session(Region region) {
-        return sessionMap.computeIfAbsent(region.name(), k -> new Neo4jSession(nativeDriver.session()));
+        return session;
+    }
+
+    @Override
+    public void resetStatistics() {
+        handles.resetStatistics();
     }
 
     @Override
@@ -75,13 +92,13 @@ public class Neo4jClient implements Client<Neo4jSession, Neo4jTransaction> {
             str.append("Count 'relationship': ").append(formatter.format(numberOfRelationships)).append("\n");
             str.append("\n");
         }
+        str.append(handles.printStatistics()).append("\n");
         return str.toString();
     }
 
     @Override
     public void closeSessions() {
-        sessionMap.values().forEach(Neo4jSession::close);
-        sessionMap.clear();
+        session.close();
     }
 
     @Override
@@ -18,23 +18,36 @@
 package com.vaticle.typedb.benchmark.neo4j.driver;
 
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
 
-
+/**
+ * Neo4j sessions are not thread-safe, whereas agents for the same region may run concurrently, so each transaction
+ * opens its own native session, which is closed with the transaction.
+ */
 public class Neo4jSession implements Session<Neo4jTransaction> {
 
-    private final org.neo4j.driver.Session nativeSession;
+    private final Driver nativeDriver;
+    private final boolean isAutoCommit;
 
-    public Neo4jSession(org.neo4j.driver.Session nativeSession) {
-        this.nativeSession = nativeSession;
+    public Neo4jSession(Driver nativeDriver, boolean isAutoCommit) {
+        this.nativeDriver = nativeDriver;
+        this.isAutoCommit = isAutoCommit;
     }
 
     @Override
     public Neo4jTransaction transaction() {
-        return new Neo4jTransaction(nativeSession);
+        return new Neo4jTransaction(nativeDriver.session(), isAutoCommit, false);
     }
 
     @Override
-    public void close() {
-        nativeSession.close();
+    public Neo4jTransaction readTransaction() {
+        return new Neo4jTransaction(
+                nativeDriver.session(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build()), isAutoCommit, true
+        );
     }
+
+    @Override
+    public void close() {}
 }
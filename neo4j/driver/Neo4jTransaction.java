@@ -20,40 +20,54 @@ package com.vaticle.typedb.benchmark.neo4j.driver;
 import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
 import org.neo4j.driver.Query;
 import org.neo4j.driver.Record;
-import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
+/**
+ * Runs queries in an explicit Neo4j transaction, which lives as long as this transaction, is committed by `commit()` and
+ * rolled back by `close()` if it was not committed. In auto-commit mode, each query instead runs in its own Neo4j
+ * transaction function, and is committed as soon as it completes. A read transaction runs in a session with read access,
+ * and its auto-commit queries in read transaction functions.
+ */
 public class Neo4jTransaction implements Transaction {
 
     private static final Logger LOG = LoggerFactory.getLogger(Neo4jTransaction.class);
 
     private final Session session;
+    @Nullable
+    private final org.neo4j.driver.Transaction tx;
+    private final boolean isRead;
 
-    public Neo4jTransaction(Session session) {
-        // TODO: why are we not passing a Transaction in here?
+    public Neo4jTransaction(Session session, boolean isAutoCommit, boolean isRead) {
         this.session = session;
+        this.tx = isAutoCommit ? null : session.beginTransaction();
+        this.isRead = isRead;
     }
 
     public List<Record> execute(Query query) {
-        return session.writeTransaction(tx -> {
-            Result result = tx.run(query);
-            return result.list();
-        });
+        if (tx != null) return tx.run(query).list();
+        else if (isRead) return session.readTransaction(autoCommitTx -> autoCommitTx.run(query).list());
+        else return session.writeTransaction(autoCommitTx -> autoCommitTx.run(query).list());
     }
 
-    /**
-     * Not necessary when using Neo4j's Transaction Functions
-     */
     @Override
-    public void commit() {}
+    public void commit() {
+        if (tx != null) tx.commit();
+    }
 
-    /**
-     * Not necessary when using Neo4j's Transaction Functions
-     */
     @Override
-    public void close() {}
+    public void close() {
+        try {
+            if (tx != null) {
+                if (tx.isOpen()) tx.rollback();
+                tx.close();
+            }
+        } finally {
+            session.close();
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation;
+
+import com.vaticle.typedb.benchmark.common.metrics.LatencyHistogram;
+import com.vaticle.typedb.benchmark.common.params.Config;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Issues region runs at a constant arrival rate, independently of how fast the database completes them. Latency is
+ * measured from the time a run was intended to start, rather than the time it actually started, so that it includes
+ * any time spent queueing behind runs that are still in progress.
+ */
+class ArrivalSchedule implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+    private final long periodNanos;
+    private final Map<String, LatencyHistogram> latencies;
+    private final LongAdder completions;
+    private long start;
+    private long arrivals;
+    private long statisticsStart;
+
+    ArrivalSchedule(Config.OpenLoop config) {
+        if (config.getRate() <= 0) throw new IllegalArgumentException("The open loop `rate` must be greater than 0");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.periodNanos = (long) (SECONDS.toNanos(1) / config.getRate());
+        this.latencies = new ConcurrentHashMap<>();
+        this.completions = new LongAdder();
+    }
+
+    long nextArrival() {
+        if (arrivals == 0) start = statisticsStart = System.nanoTime();
+        return start + arrivals++ * periodNanos;
+    }
+
+    CompletableFuture<Void> arrival(long intendedStart) {
+        CompletableFuture<Void> arrival = new CompletableFuture<>();
+        scheduler.schedule(() -> arrival.complete(null), intendedStart - System.nanoTime(), NANOSECONDS);
+        return arrival;
+    }
+
+    void recordCompletion(String agentName, long intendedStart) {
+        completions.increment();
+        latencies.computeIfAbsent(agentName, a -> new LatencyHistogram()).record(System.nanoTime() - intendedStart);
+    }
+
+    void resetStatistics() {
+        latencies.clear();
+        completions.reset();
+        statisticsStart = System.nanoTime();
+    }
+
+    String printStatistics() {
+        StringBuilder str = new StringBuilder();
+        double seconds = (System.nanoTime() - statisticsStart) / (double) SECONDS.toNanos(1);
+        // The achieved rate counts the runs that completed, as runs are scheduled at the target rate however far behind
+        // the database falls
+        str.append(String.format("Open loop: target %.2f runs/s, achieved %.2f runs/s", SECONDS.toNanos(1) / (double) periodNanos,
+                                 completions.sum() / seconds)).append("\n");
+        latencies.forEach((agentName, histogram) -> str.append(String.format(
+                "%s latency from intended start: p50 %d ms, p99 %d ms, max %d ms", agentName,
+                NANOSECONDS.toMillis(histogram.percentile(50)), NANOSECONDS.toMillis(histogram.percentile(99)),
+                NANOSECONDS.toMillis(histogram.max())
+        )).append("\n"));
+        return str.toString();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation;
+
+import com.vaticle.typedb.benchmark.common.metrics.LatencyHistogram;
+import com.vaticle.typedb.benchmark.common.params.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Caps the number of region runs in progress at a limit found by additive increase, multiplicative decrease. After
+ * every iteration the limit is raised if the p99 region run latency and the fraction of failed region runs met their
+ * SLOs, and cut back otherwise, so that it settles around the highest concurrency the database sustains within the
+ * SLOs. The limit is only raised when the iteration actually ran that many region runs at once.
+ */
+class ConcurrencyController implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyController.class);
+
+    private final Executor executor;
+    private final int maxLimit;
+    private final int increase;
+    private final double decrease;
+    private final long p99SloNanos;
+    private final double errorRateSlo;
+    private final Queue<Runnable> queued;
+    private final LatencyHistogram latency;
+    private final AtomicLong failures;
+    private int limit;
+    private int running;
+    private int peakRunning;
+    private int bestLimit;
+    private double bestThroughput;
+    private long bestP99;
+    private double bestErrorRate;
+
+    ConcurrencyController(Config.AdaptiveConcurrency config, Executor executor, int parallelism) {
+        if (config.getP99Slo() <= 0) throw new IllegalArgumentException("The adaptive concurrency `p99Slo` must be greater than 0");
+        if (config.getDecrease() <= 0 || config.getDecrease() >= 1) {
+            throw new IllegalArgumentException("The adaptive concurrency `decrease` must be between 0 and 1");
+        }
+        this.executor = executor;
+        this.maxLimit = config.getMaxLimit() > 0 ? config.getMaxLimit() : parallelism;
+        this.increase = max(1, config.getIncrease());
+        this.decrease = config.getDecrease();
+        this.p99SloNanos = (long) (config.getP99Slo() * MILLISECONDS.toNanos(1));
+        this.errorRateSlo = config.getErrorRateSlo();
+        this.queued = new ArrayDeque<>();
+        this.latency = new LatencyHistogram();
+        this.failures = new AtomicLong();
+        this.limit = max(1, min(config.getInitialLimit(), maxLimit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        synchronized (this) {
+            queued.add(command);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            Runnable command;
+            synchronized (this) {
+                if (running >= limit || queued.isEmpty()) return;
+                command = queued.poll();
+                peakRunning = max(peakRunning, ++running);
+            }
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    synchronized (this) {
+                        running--;
+                    }
+                    dispatch();
+                }
+            });
+        }
+    }
+
+    void recordRun(long nanos, boolean isFailed) {
+        latency.record(nanos);
+        if (isFailed) failures.incrementAndGet();
+    }
+
+    /**
+     * Adjusts the limit on the latency and failures of the region runs recorded since the last adjustment.
+     */
+    synchronized void adjust(int runs, long nanos) {
+        long p99 = latency.percentile(99);
+        double errorRate = latency.count() > 0 ? (double) failures.get() / latency.count() : 0;
+        double throughput = nanos > 0 ? runs * (double) SECONDS.toNanos(1) / nanos : 0;
+        boolean isWithinSlo = p99 <= p99SloNanos && errorRate <= errorRateSlo;
+        int previous = limit;
+        if (isWithinSlo && throughput > bestThroughput) {
+            bestLimit = limit;
+            bestThroughput = throughput;
+            bestP99 = p99;
+            bestErrorRate = errorRate;
+        }
+        if (!isWithinSlo) limit = max(1, (int) (limit * decrease));
+        else if (peakRunning >= limit) limit = (int) min(maxLimit, (long) limit + increase);
+        LOG.info(String.format("Concurrency limit %d: %.2f runs/s, p99 %d ms, error rate %.3f (%s SLO); next limit %d",
+                               previous, throughput, NANOSECONDS.toMillis(p99), errorRate,
+                               isWithinSlo ? "within" : "outside", limit));
+        latency.reset();
+        failures.set(0);
+        peakRunning = running;
+    }
+
+    synchronized void resetStatistics() {
+        bestLimit = 0;
+        bestThroughput = 0;
+    }
+
+    synchronized String printStatistics() {
+        if (bestLimit == 0) {
+            return String.format("Adaptive concurrency: no iteration met the SLO of p99 %d ms and error rate %.3f; final limit %d",
+                                 NANOSECONDS.toMillis(p99SloNanos), errorRateSlo, limit);
+        }
+        return String.format("Adaptive concurrency: converged on a limit of %d at %.2f runs/s (p99 %d ms, error rate %.3f); final limit %d",
+                             bestLimit, bestThroughput, NANOSECONDS.toMillis(bestP99), bestErrorRate, limit);
+    }
+}
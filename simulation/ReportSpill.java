@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation;
+
+import com.vaticle.typedb.benchmark.simulation.agent.Agent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes every report of a simulation to a file as it is produced, one line per report prefixed by the iteration,
+ * agent and region, so that the detail behind mismatching report digests can be inspected without holding the reports
+ * in memory. Regions complete in any order, so the lines should be sorted before comparing two files.
+ */
+class ReportSpill implements AutoCloseable {
+
+    private final BufferedWriter writer;
+
+    ReportSpill(Path directory, String simulation) {
+        try {
+            Files.createDirectories(directory);
+            this.writer = Files.newBufferedWriter(directory.resolve(simulation + "-reports.txt"), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't create report file", e);
+        }
+    }
+
+    synchronized void write(int iteration, String agent, String tracker, List<Agent.Report> reports) {
+        try {
+            for (int i = 0; i < reports.size(); i++) {
+                writer.append(String.valueOf(iteration)).append(' ').append(agent).append(' ').append(tracker).append(' ')
+                        .append(String.valueOf(i)).append(": ").append(reports.get(i).toString()).append('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't write to report file", e);
+        }
+    }
+
+    synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't write to report file", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't write to report file", e);
+        }
+    }
+}
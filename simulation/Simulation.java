@@ -19,11 +19,13 @@ package com.vaticle.typedb.benchmark.simulation;
 
 import com.vaticle.typedb.benchmark.common.params.Config;
 import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.common.seed.KeyDistribution;
 import com.vaticle.typedb.benchmark.common.seed.RandomSource;
 import com.vaticle.typedb.benchmark.common.seed.SeedData;
 import com.vaticle.typedb.benchmark.simulation.agent.Agent;
 import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
 import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
+import com.vaticle.typedb.benchmark.simulation.agent.ReportDigest;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
 import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
@@ -31,17 +33,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.vaticle.typedb.benchmark.common.Util.printDuration;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toCollection;
 
 public abstract class Simulation<
         CLIENT extends Client<SESSION, TX>,
@@ -55,36 +68,73 @@ public abstract class Simulation<
     protected final CLIENT client;
     protected final Context context;
     private final RandomSource randomSource;
-    private final List<Agent<?, TX>> agents;
-    private final Map<Class<? extends Agent>, Map<String, List<Agent.Report>>> agentReports;
+    private final Map<Class<? extends Agent>, Agent<?, TX>> agents;
+    private final Map<Class<? extends Agent>, Set<Class<? extends Agent>>> agentDependencies;
+    private final Map<Class<? extends Agent>, Map<String, ReportDigest>> agentDigests;
+    private final ArrivalSchedule arrivalSchedule;
+    private final ConcurrencyController concurrencyController;
+    private final ReportSpill reportSpill;
+    private ThroughputSeries measuredThroughput;
 
     public Simulation(CLIENT client, Context context) throws Exception {
         this.client = client;
         this.context = context;
+        this.agentDependencies = new HashMap<>();
         this.agents = initAgents();
-        this.agentReports = new ConcurrentHashMap<>();
-        this.randomSource = new RandomSource(context.seed());
+        this.agentDigests = new ConcurrentHashMap<>();
+        this.randomSource = RandomSource.create(context.seed(), context.randomGenerator());
+        this.arrivalSchedule = context.openLoop().map(ArrivalSchedule::new).orElse(null);
+        this.concurrencyController = context.adaptiveConcurrency().map(config -> new ConcurrencyController(
+                config, context.executor(), context.executor().parallelism())).orElse(null);
+        this.reportSpill = context.reportDirectory().filter(directory -> context.isReporting())
+                .map(directory -> new ReportSpill(Paths.get(directory), getClass().getSimpleName())).orElse(null);
         initialise(context.seedData());
     }
 
     protected abstract void initialise(SeedData geoData) throws IOException;
 
-    @SuppressWarnings("unchecked")
-    protected List<Agent<?, TX>> initAgents() throws ClassNotFoundException {
+    protected Map<Class<? extends Agent>, Agent<?, TX>> initAgents() throws ClassNotFoundException {
         Map<Class<? extends Agent>, Supplier<Agent<?, TX>>> agentBuilders = initAgentBuilders();
-        List<Agent<?, TX>> agents = new ArrayList<>();
+        Map<Class<? extends Agent>, Agent<?, TX>> agents = new LinkedHashMap<>();
         for (Config.Agent agentConfig : context.agentConfigs()) {
             if (agentConfig.isRun()) {
-                String className = AGENT_PACKAGE + "." + agentConfig.getName();
-                Class<? extends Agent> agentClass = (Class<? extends Agent>) Class.forName(className);
+                Class<? extends Agent> agentClass = agentClass(agentConfig.getName());
                 assert agentBuilders.containsKey(agentClass);
-                agents.add(agentBuilders.get(agentClass).get().setTracing(agentConfig.isTracing()));
+                agents.put(agentClass, agentBuilders.get(agentClass).get().setTracing(agentConfig.isTracing())
+                        .setDistribution(KeyDistribution.create(agentConfig.getDistribution())));
+                agentDependencies.put(agentClass, initDependencies(agentConfig, agents.keySet()));
                 REGISTERED_AGENTS.add(agentClass);
             }
         }
         return agents;
     }
 
+    /**
+     * Dependencies must be listed before the agents that depend on them in the configuration, which keeps the
+     * dependency graph acyclic. Dependencies on agents that are not run are ignored.
+     */
+    private Set<Class<? extends Agent>> initDependencies(Config.Agent agentConfig,
+                                                         Set<Class<? extends Agent>> precedingAgents) throws ClassNotFoundException {
+        Set<Class<? extends Agent>> dependencies = new HashSet<>();
+        for (String dependencyName : agentConfig.getDependsOn()) {
+            Class<? extends Agent> dependency = agentClass(dependencyName);
+            if (precedingAgents.contains(dependency)) {
+                dependencies.add(dependency);
+            } else if (context.agentConfigs().stream().anyMatch(c -> c.isRun() && c.getName().equals(dependencyName))) {
+                throw new IllegalArgumentException(String.format("The agent '%s' must be listed after its dependency '%s'",
+                                                                 agentConfig.getName(), dependencyName));
+            } else {
+                LOG.warn("The agent '{}' depends on '{}', which is not run", agentConfig.getName(), dependencyName);
+            }
+        }
+        return dependencies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Agent> agentClass(String agentName) throws ClassNotFoundException {
+        return (Class<? extends Agent>) Class.forName(AGENT_PACKAGE + "." + agentName);
+    }
+
     private Map<Class<? extends Agent>, Supplier<Agent<?, TX>>> initAgentBuilders() {
         return new HashMap<>() {{
             put(PersonAgent.class, () -> createPersonAgent(client, context));
@@ -92,31 +142,220 @@ public abstract class Simulation<
         }};
     }
 
-    public Map<String, List<Agent.Report>> getReport(Class<? extends Agent> agentName) {
-        return agentReports.get(agentName);
+    /**
+     * @return the digest of the reports of each region run by the agent in the last iteration, keyed by region
+     */
+    public Map<String, ReportDigest> getDigests(Class<? extends Agent> agentClass) {
+        return agentDigests.get(agentClass);
+    }
+
+    /**
+     * @return the mean throughput, in region runs per second, of the iterations measured by the last run
+     */
+    public double throughput() {
+        return measuredThroughput != null ? measuredThroughput.mean() : 0;
+    }
+
+    /**
+     * @return the coefficient of variation of the throughput of the iterations measured by the last run
+     */
+    public double throughputCv() {
+        return measuredThroughput != null && measuredThroughput.size() > 0 ? measuredThroughput.coefficientOfVariation() : 0;
     }
 
     public void run() {
+        warmUp();
         Instant start = Instant.now();
-        while (context.iterationNumber() <= context.iterationMax()) {
+        // Measurement stops starting new iterations once the measurement or open loop duration has elapsed, whichever
+        // is given and comes first, and otherwise after the configured number of iterations
+        Instant deadline = Instant.MAX;
+        if (context.measurementDuration() > 0) deadline = start.plusSeconds(context.measurementDuration());
+        Optional<Config.OpenLoop> openLoop = context.openLoop().filter(config -> config.getDuration() > 0);
+        if (openLoop.isPresent() && deadline.isAfter(start.plusSeconds(openLoop.get().getDuration()))) {
+            deadline = start.plusSeconds(openLoop.get().getDuration());
+        }
+        ThroughputSeries throughput = measuredThroughput = new ThroughputSeries();
+        while ((context.measurementDuration() > 0 || throughput.size() < context.iterationMax()) && Instant.now().isBefore(deadline)
+                && hasWorkload()) {
             int iter = context.iterationNumber();
+            decodeWorkload();
             Instant iterStart = Instant.now();
-            iterate();
-            LOG.info("Iteration {}: {}", iter, printDuration(iterStart, Instant.now()));
+            int runs = iterate(true);
+            Instant iterEnd = Instant.now();
+            throughput.record(runs, Duration.between(iterStart, iterEnd).toNanos());
+            LOG.info("Iteration {}: {}", iter, printDuration(iterStart, iterEnd));
             LOG.info("-------------------------");
         }
-        LOG.info("Simulation run duration: " + printDuration(start, Instant.now()));
+        Instant end = Instant.now();
+        LOG.info("Simulation run duration: " + printDuration(start, end));
+        LOG.info(String.format("Measured %d iterations: mean throughput %.2f runs/s, coefficient of variation %.3f",
+                               throughput.size(), throughput.mean(), throughput.coefficientOfVariation()));
+        LOG.info(context.executor().printStatistics(Duration.between(start, end).toMillis() / 1000.0));
+        if (arrivalSchedule != null) LOG.info(arrivalSchedule.printStatistics());
+        if (concurrencyController != null) LOG.info(concurrencyController.printStatistics());
+        context.latencyRecorder().writeCumulative();
+        LOG.info("Operation latencies:\n" + context.latencyRecorder().printCumulative());
+        agents.values().forEach(agent -> LOG.info(agent.printDistribution()));
+        context.shadowWorld().ifPresent(shadowWorld -> LOG.info(shadowWorld.printStatistics()));
         LOG.info(client.printStatistics());
     }
 
+    /**
+     * Runs iterations, without recording their metrics, until the configured number of iterations and duration have
+     * passed and, if a steady state window is given, the throughput of that many latest iterations is steady, or until
+     * the maximum number of warm-up iterations have run.
+     */
+    private void warmUp() {
+        Config.WarmUp config = context.warmUp();
+        boolean isSteadyStateDetected = config.getSteadyStateWindow() > 0;
+        if (config.getIterations() <= 0 && config.getDuration() <= 0 && !isSteadyStateDetected) return;
+        Instant start = Instant.now();
+        Instant minEnd = start.plusSeconds(config.getDuration());
+        ThroughputSeries throughput = new ThroughputSeries();
+        context.setWarmingUp(true);
+        while (throughput.size() < config.getIterations() || Instant.now().isBefore(minEnd) ||
+                (isSteadyStateDetected && !throughput.isSteady(config.getSteadyStateWindow(), config.getSteadyStateCv()))) {
+            if (!hasWorkload()) break;
+            if (throughput.size() >= max(config.getMaxIterations(), config.getIterations())) {
+                LOG.warn("Warm-up stopped after {} iterations without reaching a steady state", throughput.size());
+                break;
+            }
+            decodeWorkload();
+            Instant iterStart = Instant.now();
+            int runs = iterate(false);
+            Instant iterEnd = Instant.now();
+            throughput.record(runs, Duration.between(iterStart, iterEnd).toNanos());
+            LOG.info("Warm-up iteration {}: {}", throughput.size(), printDuration(iterStart, iterEnd));
+        }
+        if (isSteadyStateDetected) {
+            LOG.info(String.format("Warm-up of %d iterations ended in %s, with a throughput coefficient of variation of %.3f",
+                                   throughput.size(), printDuration(start, Instant.now()),
+                                   throughput.coefficientOfVariation(min(throughput.size(), config.getSteadyStateWindow()))));
+        } else {
+            LOG.info("Warm-up of {} iterations ended in {}", throughput.size(), printDuration(start, Instant.now()));
+        }
+        LOG.info("-------------------------");
+        context.setWarmingUp(false);
+        context.executor().resetStatistics();
+        if (arrivalSchedule != null) arrivalSchedule.resetStatistics();
+        if (concurrencyController != null) concurrencyController.resetStatistics();
+        agents.values().forEach(Agent::resetStatistics);
+        client.resetStatistics();
+    }
+
+    /**
+     * @return whether the workload being replayed, if any, has operations for the next iteration
+     */
+    private boolean hasWorkload() {
+        return context.workloadReader().map(reader -> context.iterationNumber() <= reader.iterations()).orElse(true);
+    }
+
+    /**
+     * Decodes the operations of the next iteration of the workload being replayed, if any, ahead of its region runs
+     * so that decoding them is not measured.
+     */
+    private void decodeWorkload() {
+        context.workloadReader().ifPresent(reader -> reader.decode(context.iterationNumber()));
+    }
+
     public void iterate() {
-        agentReports.clear();
-        agents.forEach(agent -> agentReports.put(agent.getClass(), agent.iterate(randomSource.nextSource())));
+        decodeWorkload();
+        iterate(true);
+    }
+
+    /**
+     * @return the number of region runs in the iteration that succeeded, which is all of them unless adaptive
+     * concurrency lets the iteration go on past failed ones
+     */
+    private int iterate(boolean isMeasured) {
+        agentDigests.clear();
+        long iterStart = System.nanoTime();
+        Map<Class<? extends Agent>, List<? extends Agent<?, TX>.RegionRun>> regionRuns = new LinkedHashMap<>();
+        // Random sources are drawn up front in configuration and region order, so that they do not depend on the order
+        // regions complete in
+        agents.forEach((agentClass, agent) -> regionRuns.put(agentClass, agent.regionRuns(randomSource.nextSource())));
+
+        RegionActivity activity = new RegionActivity();
+        AtomicInteger succeeded = new AtomicInteger();
+        Map<Class<? extends Agent>, Map<String, CompletableFuture<Void>>> asyncRuns = new HashMap<>();
+        regionRuns.forEach((agentClass, runs) -> {
+            Map<String, ReportDigest> digests = new ConcurrentHashMap<>();
+            int iteration = context.iterationNumber();
+            Map<String, CompletableFuture<Void>> agentRuns = new HashMap<>();
+            for (Agent<?, TX>.RegionRun run : runs) {
+                List<CompletableFuture<?>> preconditions = dependencies(agentClass, run.tracker(), asyncRuns);
+                long intendedStart = arrivalSchedule != null ? arrivalSchedule.nextArrival() : 0;
+                if (arrivalSchedule != null) preconditions.add(arrivalSchedule.arrival(intendedStart));
+                agentRuns.put(run.tracker(), CompletableFuture.allOf(preconditions.toArray(new CompletableFuture[0])).thenRunAsync(() -> {
+                    long start = System.nanoTime();
+                    List<Agent.Report> report;
+                    try {
+                        report = run.run();
+                    } catch (RuntimeException e) {
+                        // Under adaptive concurrency a failed region run counts towards the error rate, and is still
+                        // rethrown so that the region runs depending on its data do not run
+                        if (concurrencyController != null) {
+                            concurrencyController.recordRun(System.nanoTime() - start, true);
+                            LOG.warn("Region run '{}' of {} failed", run.tracker(), agentClass.getSimpleName(), e);
+                        }
+                        throw e;
+                    }
+                    long end = System.nanoTime();
+                    succeeded.incrementAndGet();
+                    activity.record(run.tracker(), start, end);
+                    if (concurrencyController != null) concurrencyController.recordRun(end - start, false);
+                    if (arrivalSchedule != null) arrivalSchedule.recordCompletion(agentClass.getSimpleName(), intendedStart);
+                    if (context.isReporting()) {
+                        // Only the digest of a region's reports is kept, the reports themselves are written out if at all
+                        digests.put(run.tracker(), ReportDigest.of(report));
+                        if (reportSpill != null) reportSpill.write(iteration, agentClass.getSimpleName(), run.tracker(), report);
+                    }
+                }, concurrencyController != null ? concurrencyController : context.executor()));
+            }
+            asyncRuns.put(agentClass, agentRuns);
+            agentDigests.put(agentClass, digests);
+        });
+        CompletableFuture<Void> allRuns = CompletableFuture.allOf(asyncRuns.values().stream().flatMap(runs -> runs.values().stream())
+                                                                          .toArray(CompletableFuture[]::new));
+        int runs = regionRuns.values().stream().mapToInt(List::size).sum();
+        if (concurrencyController == null) {
+            allRuns.join();
+        } else {
+            allRuns.handle((ignored, e) -> null).join();
+            if (succeeded.get() < runs) LOG.warn("{} of {} region runs failed or were skipped", runs - succeeded.get(), runs);
+            concurrencyController.adjust(succeeded.get(), System.nanoTime() - iterStart);
+        }
+        LOG.info("Region stall time ({} scheduling): {}", context.scheduling().name().toLowerCase(), activity.printStalls());
+        if (reportSpill != null) reportSpill.flush();
+        if (isMeasured) context.latencyRecorder().writeIteration(context.iterationNumber());
+        else context.latencyRecorder().discardIteration();
         context.incrementIteration();
+        return succeeded.get();
+    }
+
+    private List<CompletableFuture<?>> dependencies(Class<? extends Agent> agentClass, String tracker,
+                                                    Map<Class<? extends Agent>, Map<String, CompletableFuture<Void>>> asyncRuns) {
+        return agentDependencies.get(agentClass).stream().flatMap(dependency -> {
+            Map<String, CompletableFuture<Void>> dependencyRuns = asyncRuns.get(dependency);
+            if (context.scheduling() == Config.Scheduling.PIPELINED && dependencyRuns.containsKey(tracker)) {
+                return Stream.of(dependencyRuns.get(tracker));
+            } else if (concurrencyController != null) {
+                // A failed region run only keeps its own region from running later agents, as only that region's data
+                // is missing, while the region runs of other regions just wait for it to end
+                return dependencyRuns.entrySet().stream().<CompletableFuture<?>>map(
+                        dependencyRun -> dependencyRun.getKey().equals(tracker)
+                                ? dependencyRun.getValue() : dependencyRun.getValue().handle((ignored, e) -> null)
+                );
+            } else {
+                return dependencyRuns.values().stream();
+            }
+        }).collect(toCollection(ArrayList::new));
     }
 
     @Override
     public void close() {
+        if (arrivalSchedule != null) arrivalSchedule.close();
+        if (reportSpill != null) reportSpill.close();
         client.close();
         context.close();
     }
@@ -124,4 +363,39 @@ public abstract class Simulation<
     protected abstract PersonAgent<TX> createPersonAgent(CLIENT client, Context context);
 
     protected abstract FriendshipAgent<TX> createFriendshipAgent(CLIENT client, Context context);
+
+    /**
+     * Records when each region was busy during an iteration. A region stalls whenever it sits idle between its first
+     * run starting and its last run ending, such as when waiting on other regions at a barrier.
+     */
+    private static class RegionActivity {
+
+        private final Map<String, long[]> activity = new ConcurrentHashMap<>();
+
+        void record(String tracker, long start, long end) {
+            long[] firstStartLastEndBusy = activity.computeIfAbsent(tracker, t -> new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0});
+            synchronized (firstStartLastEndBusy) {
+                firstStartLastEndBusy[0] = min(firstStartLastEndBusy[0], start);
+                firstStartLastEndBusy[1] = max(firstStartLastEndBusy[1], end);
+                firstStartLastEndBusy[2] += end - start;
+            }
+        }
+
+        String printStalls() {
+            if (activity.isEmpty()) return "no regions run";
+            long total = 0, worst = 0;
+            String worstTracker = null;
+            for (Map.Entry<String, long[]> entry : activity.entrySet()) {
+                long[] firstStartLastEndBusy = entry.getValue();
+                long stall = firstStartLastEndBusy[1] - firstStartLastEndBusy[0] - firstStartLastEndBusy[2];
+                total += stall;
+                if (worstTracker == null || stall > worst) {
+                    worst = stall;
+                    worstTracker = entry.getKey();
+                }
+            }
+            return String.format("total %d ms, mean %d ms, max %d ms (%s)", NANOSECONDS.toMillis(total),
+                                 NANOSECONDS.toMillis(total / activity.size()), NANOSECONDS.toMillis(worst), worstTracker);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The throughput of each iteration, in region runs per second, from which the simulation judges whether it has reached
+ * a steady state: when the coefficient of variation (the standard deviation over the mean) of the latest iterations'
+ * throughput falls to a threshold.
+ */
+class ThroughputSeries {
+
+    private final List<Double> throughputs = new ArrayList<>();
+
+    void record(int runs, long nanos) {
+        throughputs.add(runs / (Math.max(nanos, 1) / 1_000_000_000.0));
+    }
+
+    int size() {
+        return throughputs.size();
+    }
+
+    boolean isSteady(int window, double maxCv) {
+        return throughputs.size() >= window && coefficientOfVariation(window) <= maxCv;
+    }
+
+    double coefficientOfVariation() {
+        return coefficientOfVariation(throughputs.size());
+    }
+
+    double coefficientOfVariation(int window) {
+        List<Double> latest = throughputs.subList(throughputs.size() - window, throughputs.size());
+        double mean = latest.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        if (mean == 0) return 0;
+        double variance = latest.stream().mapToDouble(t -> (t - mean) * (t - mean)).average().orElse(0);
+        return Math.sqrt(variance) / mean;
+    }
+
+    double mean() {
+        return throughputs.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+}
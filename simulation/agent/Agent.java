@@ -17,35 +17,28 @@
 
 package com.vaticle.typedb.benchmark.simulation.agent;
 
-import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic;
 import com.vaticle.typedb.benchmark.common.concept.Region;
 import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.common.seed.KeyDistribution;
 import com.vaticle.typedb.benchmark.common.seed.RandomSource;
+import com.vaticle.typedb.benchmark.common.tracing.Tracer;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
 import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
-import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.contextOnThread;
-import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.traceOnThread;
-import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.common.util.Objects.className;
-import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.stream.Collectors.toList;
 
 /**
- * Agent constructs regional agents of a given class and runs them in parallel, providing them with the appropriate
- * region, a deterministic random and the tracker and session key for tracing and TypeDB transactions.
+ * Agent constructs regional runs of a given class, to be scheduled in parallel by the Simulation, providing them with
+ * the appropriate region, a deterministic random and the tracker and session key for tracing and TypeDB transactions.
  *
  * This class must be extended to provide the source of the random items and the methods to obtain the session key and
  * tracker from them.
@@ -60,10 +53,12 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
     protected final Context context;
     private final Client<?, TX> client;
     private boolean isTracing = true;
+    private KeyDistribution distribution;
 
     protected Agent(Client<?, TX> client, Context context) {
         this.client = client;
         this.context = context;
+        this.distribution = KeyDistribution.uniform();
     }
 
     protected abstract Class<? extends Agent> agentClass();
@@ -81,23 +76,32 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
         return context.isTracing() && isTracing;
     }
 
-    public Map<String, List<Report>> iterate(RandomSource randomSrc) {
-        ConcurrentMap<String, List<Report>> reports = new ConcurrentHashMap<>();
-        List<CompletableFuture<Void>> asyncRuns = new ArrayList<>(regions().size());
-        // We need to generate pairs of Region and Random deterministically before passing them to a parallel stream
-        regions().stream().map(r -> pair(r, randomSrc.nextSource())).forEach(rr -> asyncRuns.add(runAsync(() -> {
-            List<Report> report = runAndMayTrace(rr.first(), rr.second());
-            if (context.isReporting()) reports.put(rr.first().tracker(), report);
-            else assert report.isEmpty();
-        }, context.executor())));
-        CompletableFuture.allOf(asyncRuns.toArray(new CompletableFuture[0])).join();
-        return reports;
+    public Agent<REGION, TX> setDistribution(KeyDistribution distribution) {
+        this.distribution = distribution;
+        return this;
+    }
+
+    protected KeyDistribution distribution() {
+        return distribution;
+    }
+
+    public void resetStatistics() {
+        distribution.resetStatistics();
+    }
+
+    public String printDistribution() {
+        return className(agentClass()) + " key distribution " + distribution.printStatistics();
+    }
+
+    public List<RegionRun> regionRuns(RandomSource randomSrc) {
+        // We need to generate pairs of Region and Random deterministically before the regions are run in parallel
+        return regions().stream().map(r -> new RegionRun(r, randomSrc.nextSource())).collect(toList());
     }
 
     private List<Report> runAndMayTrace(REGION region, RandomSource random) {
-        FactoryTracingThreadStatic.ThreadContext tracingCtx = null;
+        Tracer.TraceContext tracingCtx = null;
         try {
-            if (isTracing()) tracingCtx = contextOnThread(region.tracker(), context.iterationNumber());
+            if (isTracing()) tracingCtx = context.tracer().contextOnThread(className(agentClass()), region.tracker(), context.iterationNumber());
             Session<TX> session = client.session(region);
             return mayTrace(() -> run(session, region, random), className(agentClass()));
         } finally {
@@ -105,9 +109,24 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
         }
     }
 
+    protected <T> T recordLatency(Supplier<T> methodToRecord, String operation) {
+        return mayTrace(() -> context.latencyRecorder().record(className(agentClass()), operation, methodToRecord), operation);
+    }
+
+    protected void recordLatency(Runnable methodToRecord, String operation) {
+        recordLatency(() -> {
+            methodToRecord.run();
+            return null;
+        }, operation);
+    }
+
+    protected void recordLatency(String operation, long nanos) {
+        context.latencyRecorder().record(className(agentClass()), operation, nanos);
+    }
+
     public <T> T mayTrace(Supplier<T> methodToTrace, String trace) {
         if (isTracing()) {
-            try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(trace)) {
+            try (Tracer.Trace ignored = context.tracer().traceOnThread(trace)) {
                 return methodToTrace.get();
             }
         } else {
@@ -115,6 +134,31 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
         }
     }
 
+    /**
+     * A run of this agent over a single region, with the random source it was allocated, which can be scheduled
+     * independently of the agent's other regions.
+     */
+    public class RegionRun {
+
+        private final REGION region;
+        private final RandomSource random;
+
+        private RegionRun(REGION region, RandomSource random) {
+            this.region = region;
+            this.random = random;
+        }
+
+        public String tracker() {
+            return region.tracker();
+        }
+
+        public List<Report> run() {
+            List<Report> report = runAndMayTrace(region, random);
+            assert context.isReporting() || report.isEmpty();
+            return report;
+        }
+    }
+
     public static class Report {
 
         private final Collection<Object> input;
@@ -131,6 +175,14 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
             return new Report(input, output);
         }
 
+        public Collection<Object> input() {
+            return input;
+        }
+
+        public Collection<Object> output() {
+            return output;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -146,5 +198,10 @@ public abstract class Agent<REGION extends Region, TX extends Transaction> {
         public int hashCode() {
             return hash;
         }
+
+        @Override
+        public String toString() {
+            return input + " -> " + output;
+        }
     }
 }
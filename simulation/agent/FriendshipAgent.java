@@ -21,6 +21,7 @@ import com.vaticle.typedb.benchmark.common.concept.Country;
 import com.vaticle.typedb.benchmark.common.concept.Person;
 import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.common.seed.RandomSource;
+import com.vaticle.typedb.benchmark.common.seed.ShadowWorld;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
 import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
@@ -28,12 +29,14 @@ import com.vaticle.typedb.common.collection.Pair;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.vaticle.typedb.benchmark.common.params.Context.AGE_OF_FRIENDSHIP;
 import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.common.collection.Collections.pair;
 import static java.lang.Math.log;
 import static java.lang.Math.min;
 import static java.util.Comparator.comparing;
@@ -57,20 +60,65 @@ public abstract class FriendshipAgent<TX extends Transaction> extends Agent<Coun
 
     @Override
     protected List<Report> run(Session<TX> session, Country country, RandomSource random) {
-        List<Report> reports = new ArrayList<>();
+        ArrayList<Pair<Person, Person>> friendships;
         try (TX tx = session.transaction()) {
-            LocalDateTime birthDate = context.today().minusYears(AGE_OF_FRIENDSHIP);
-            ArrayList<Person> teenagers = matchTeenagers(tx, country, birthDate)
-                    .sorted(comparing(Person::email)).collect(toCollection(ArrayList::new));
-            random.randomPairs(teenagers, min(log2(context.scaleFactor()), 1)).forEach(friends -> {
-                Optional<Pair<Person, Person>> inserted = insertFriends(tx, friends.first().email(), friends.second().email());
-                if (context.isReporting()) {
-                    assert inserted.isPresent();
-                    reports.add(new Report(list(friends.first().email(), friends.second().email()),
-                                           list(inserted.get().first(), inserted.get().second())));
-                } else assert inserted.isEmpty();
-            });
-            tx.commit();
+            if (context.workloadReader().isPresent()) {
+                friendships = context.workloadReader().get().friendships(context.iterationNumber(), country);
+            } else {
+                friendships = random.randomPairs(teenagers(tx, country), min(log2(context.scaleFactor()), 1), distribution());
+            }
+            for (int from = 0; from < friendships.size(); from += context.batchSize()) {
+                insertBatch(tx, friendships.subList(from, min(from + context.batchSize(), friendships.size())));
+            }
+            recordLatency(tx::commit, "commit");
+        }
+        context.workloadWriter().ifPresent(writer -> writer.writeFriendships(context.iterationNumber(), country, friendships));
+        if (context.isReporting()) return report(session, friendships);
+        else return List.of();
+    }
+
+    private ArrayList<Person> teenagers(TX tx, Country country) {
+        LocalDateTime birthDate = context.today().minusYears(AGE_OF_FRIENDSHIP);
+        ArrayList<Person> teenagers;
+        if (context.shadowWorld().isPresent()) {
+            ShadowWorld shadowWorld = context.shadowWorld().get();
+            teenagers = recordLatency(() -> shadowWorld.births(country, birthDate.getYear()), "shadowTeenagers");
+        } else {
+            teenagers = recordLatency(
+                    () -> matchTeenagers(tx, country, birthDate).collect(toCollection(ArrayList::new)), "matchTeenagers"
+            );
+        }
+        teenagers.sort(comparing(Person::email));
+        return teenagers;
+    }
+
+    private void insertBatch(TX tx, List<Pair<Person, Person>> batch) {
+        if (context.batchSize() == 1) {
+            Pair<Person, Person> friends = batch.get(0);
+            recordLatency(() -> insertFriends(tx, friends.first().email(), friends.second().email()), "insertFriends");
+        } else {
+            recordLatency(() -> insertFriendships(tx, batch), "insertFriendships");
+        }
+    }
+
+    /**
+     * Reads back all the friendships of a region in a single query, once they are committed, and reports each one
+     * against the friendship that was chosen.
+     */
+    private List<Report> report(Session<TX> session, List<Pair<Person, Person>> friendships) {
+        Set<Pair<String, String>> befriended = new HashSet<>();
+        if (!friendships.isEmpty()) {
+            try (TX tx = session.readTransaction()) {
+                recordLatency(() -> matchFriendships(tx, friendships), "matchFriendships").forEach(
+                        friends -> befriended.add(pair(friends.first().email(), friends.second().email()))
+                );
+            }
+        }
+        List<Report> reports = new ArrayList<>(friendships.size());
+        for (Pair<Person, Person> friends : friendships) {
+            String email1 = friends.first().email(), email2 = friends.second().email();
+            reports.add(new Report(list(email1, email2), befriended.contains(pair(email1, email2))
+                    ? list(new Person(email1), new Person(email2)) : list()));
         }
         return reports;
     }
@@ -81,5 +129,21 @@ public abstract class FriendshipAgent<TX extends Transaction> extends Agent<Coun
 
     protected abstract Stream<Person> matchTeenagers(TX tx, Country country, LocalDateTime birthDate);
 
-    protected abstract Optional<Pair<Person, Person>> insertFriends(TX tx, String email1, String email2);
+    protected abstract void insertFriends(TX tx, String email1, String email2);
+
+    /**
+     * Inserts a batch of friendships. Agents that can write a batch in a single query should override this, rather
+     * than inserting the friendships one by one.
+     */
+    protected void insertFriendships(TX tx, List<Pair<Person, Person>> friendships) {
+        for (Pair<Person, Person> friends : friendships) {
+            insertFriends(tx, friends.first().email(), friends.second().email());
+        }
+    }
+
+    /**
+     * @return those of the given friendships that exist, with the befriended persons' emails, in any order, read with a
+     * single query
+     */
+    protected abstract List<Pair<Person, Person>> matchFriendships(TX tx, List<Pair<Person, Person>> friendships);
 }
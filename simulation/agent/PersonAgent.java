@@ -22,6 +22,7 @@ import com.vaticle.typedb.benchmark.common.concept.Country;
 import com.vaticle.typedb.benchmark.common.concept.Gender;
 import com.vaticle.typedb.benchmark.common.concept.Person;
 import com.vaticle.typedb.benchmark.common.params.Context;
+import com.vaticle.typedb.benchmark.common.seed.PersonGenerator;
 import com.vaticle.typedb.benchmark.common.seed.RandomSource;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
@@ -32,19 +33,24 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static com.vaticle.typedb.benchmark.common.concept.Gender.FEMALE;
-import static com.vaticle.typedb.benchmark.common.concept.Gender.MALE;
 import static com.vaticle.typedb.common.collection.Collections.list;
+import static java.lang.Math.min;
+import static java.util.stream.Collectors.toList;
 
 public abstract class PersonAgent<TX extends Transaction> extends Agent<Country, TX> {
 
     private static final Logger LOG = LoggerFactory.getLogger(PersonAgent.class);
 
+    private final Map<Country, PersonGenerator> generators;
+
     protected PersonAgent(Client<?, TX> client, Context context) {
         super(client, context);
+        this.generators = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -59,27 +65,90 @@ public abstract class PersonAgent<TX extends Transaction> extends Agent<Country,
 
     @Override
     protected List<Report> run(Session<TX> session, Country country, RandomSource random) {
-        List<Report> reports = new ArrayList<>();
+        List<Pair<Person, City>> persons;
+        LocalDateTime today = context.today();
         try (TX tx = session.transaction()) {
-            for (int i = 0; i < context.scaleFactor(); i++) {
-                Gender gender = random.nextBoolean() ? MALE : FEMALE;
-                String firstName = random.choose(country.continent().commonFirstNames(gender));
-                String lastName = random.choose(country.continent().commonLastNames());
-                City city = random.choose(country.cities());
-                String email = String.format("%s.%s.%s.%s@email.com", firstName, lastName, city.code(), random.nextInt());
-                String address = random.address(city);
-                Optional<Pair<Person, City>> inserted = insertPerson(tx, email, firstName, lastName, address, gender, context.today(), city);
-                if (context.isReporting()) {
-                    assert inserted.isPresent();
-                    reports.add(new Report(list(email, firstName, lastName, address, gender, context.today(), city),
-                                           list(inserted.get().first(), inserted.get().second())));
-                } else assert inserted.isEmpty();
+            if (context.workloadReader().isPresent()) {
+                persons = context.workloadReader().get().persons(context.iterationNumber(), country);
+                for (int from = 0; from < persons.size(); from += context.batchSize()) {
+                    insertBatch(tx, persons.subList(from, min(from + context.batchSize(), persons.size())));
+                }
+            } else {
+                persons = new ArrayList<>(context.scaleFactor());
+                PersonGenerator generator = generators.computeIfAbsent(country, PersonGenerator::new);
+                int batchStart = 0;
+                for (int i = 0; i < context.scaleFactor(); i++) {
+                    persons.add(generator.generate(random, distribution(), today));
+                    if (persons.size() - batchStart == context.batchSize()) {
+                        insertBatch(tx, persons.subList(batchStart, persons.size()));
+                        batchStart = persons.size();
+                    }
+                }
+                if (batchStart < persons.size()) insertBatch(tx, persons.subList(batchStart, persons.size()));
             }
-            tx.commit();
+            recordLatency(tx::commit, "commit");
+        }
+        context.workloadWriter().ifPresent(writer -> writer.writePersons(context.iterationNumber(), country, persons));
+        context.shadowWorld().ifPresent(world -> world.recordBirths(
+                country, today.getYear(), persons.stream().map(Pair::first).collect(toList())
+        ));
+        if (context.isReporting()) return report(session, persons);
+        else return List.of();
+    }
+
+    private void insertBatch(TX tx, List<Pair<Person, City>> batch) {
+        if (context.batchSize() == 1) {
+            Person person = batch.get(0).first();
+            City city = batch.get(0).second();
+            recordLatency(() -> insertPerson(tx, person.email(), person.firstName(), person.lastName(), person.address(),
+                                             person.gender(), person.birthDate(), city), "insertPerson");
+        } else {
+            recordLatency(() -> insertPersons(tx, batch), "insertPersons");
+        }
+    }
+
+    /**
+     * Reads back all the persons of a region in a single query, once they are committed, and reports each one against
+     * the person that was generated.
+     */
+    private List<Report> report(Session<TX> session, List<Pair<Person, City>> persons) {
+        List<String> emails = persons.stream().map(person -> person.first().email()).collect(toList());
+        Map<String, Pair<Person, City>> inserted = new HashMap<>();
+        if (!emails.isEmpty()) {
+            try (TX tx = session.readTransaction()) {
+                recordLatency(() -> matchPersons(tx, emails), "matchPersons").forEach(
+                        personAndCity -> inserted.put(personAndCity.first().email(), personAndCity)
+                );
+            }
+        }
+        List<Report> reports = new ArrayList<>(persons.size());
+        for (Pair<Person, City> personAndCity : persons) {
+            Person person = personAndCity.first();
+            Pair<Person, City> match = inserted.get(person.email());
+            reports.add(new Report(list(person.email(), person.firstName(), person.lastName(), person.address(),
+                                        person.gender(), person.birthDate(), personAndCity.second()),
+                                   match != null ? list(match.first(), match.second()) : list()));
         }
         return reports;
     }
 
-    protected abstract Optional<Pair<Person, City>> insertPerson(TX tx, String email, String firstName, String lastName, String address,
-                                                                 Gender gender, LocalDateTime birthDate, City city);
+    protected abstract void insertPerson(TX tx, String email, String firstName, String lastName, String address,
+                                         Gender gender, LocalDateTime birthDate, City city);
+
+    /**
+     * Inserts a batch of persons, each paired with the city they are born and reside in. Agents that can write a batch
+     * in a single query should override this, rather than inserting the persons one by one.
+     */
+    protected void insertPersons(TX tx, List<Pair<Person, City>> persons) {
+        for (Pair<Person, City> person : persons) {
+            insertPerson(tx, person.first().email(), person.first().firstName(), person.first().lastName(),
+                         person.first().address(), person.first().gender(), person.first().birthDate(), person.second());
+        }
+    }
+
+    /**
+     * @return the persons with any of the given emails, each paired with the city they are born and reside in, in any
+     * order, read with a single query
+     */
+    protected abstract List<Pair<Person, City>> matchPersons(TX tx, List<String> emails);
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation.agent;
+
+import com.vaticle.typedb.benchmark.common.concept.Person;
+import com.vaticle.typedb.benchmark.common.concept.Region;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An order-independent digest of the reports of a region run, which is kept in place of the reports themselves so
+ * that comparing simulations does not require holding every report in memory. Each report is hashed to 64 bits from
+ * the values it holds, which are compared the way their equality compares them, and folded in by addition, so two
+ * digests are equal when they were folded from the same multiset of reports, up to 64-bit hash collisions.
+ */
+public class ReportDigest {
+
+    private long count;
+    private long sum;
+
+    public ReportDigest() {
+        this.count = 0;
+        this.sum = 0;
+    }
+
+    public static ReportDigest of(Collection<Agent.Report> reports) {
+        ReportDigest digest = new ReportDigest();
+        reports.forEach(digest::add);
+        return digest;
+    }
+
+    public void add(Agent.Report report) {
+        count++;
+        sum += mix(hash(report.input()) * 31 + hash(report.output()));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    private static long hash(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Collection) {
+            long hash = ((Collection<?>) value).size();
+            for (Object element : (Collection<?>) value) hash = mix(hash ^ hash(element));
+            return hash;
+        } else if (value instanceof Person) {
+            Person person = (Person) value;
+            return hash(Arrays.asList(person.email(), person.firstName(), person.lastName(), person.address(), person.gender(),
+                                    person.birthDate()));
+        } else if (value instanceof Region) {
+            // Regions are equal when their codes are
+            return hash(((Region) value).code());
+        } else if (value instanceof Enum) {
+            return hash(((Enum<?>) value).name());
+        } else {
+            // Strings, and the dates and numbers reports hold, are equal when their string forms are
+            String string = value.toString();
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < string.length(); i++) hash = (hash ^ string.charAt(i)) * 0x100000001b3L;
+            return mix(hash);
+        }
+    }
+
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportDigest that = (ReportDigest) o;
+        return count == that.count && sum == that.sum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sum) * 31 + Long.hashCode(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d reports, digest %016x", count, sum);
+    }
+}
@@ -25,6 +25,11 @@ public interface Client<SESSION extends Session<TX>, TX extends Transaction> ext
 
     void closeSessions();
 
+    /**
+     * Resets the statistics the client collects about the queries it runs, such as after warm-up.
+     */
+    void resetStatistics();
+
     String printStatistics();
 
     @Override
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.simulation.driver;
+
+import com.vaticle.typedb.benchmark.common.concept.City;
+import com.vaticle.typedb.benchmark.common.concept.Country;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the database handle of each city and country, such as its IID or node id, so that agents can refer to it
+ * directly rather than matching it by code in every query. The simulation fills the cache once the database has been
+ * initialised, and must invalidate it whenever the database is initialised again.
+ */
+public class HandleCache<HANDLE> {
+
+    private final Map<String, HANDLE> cities;
+    private final Map<String, HANDLE> countries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    public HandleCache() {
+        this.cities = new ConcurrentHashMap<>();
+        this.countries = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    public void putCity(String code, HANDLE handle) {
+        cities.put(code, handle);
+    }
+
+    public void putCountry(String code, HANDLE handle) {
+        countries.put(code, handle);
+    }
+
+    public Optional<HANDLE> city(City city) {
+        return lookup(cities, city.code());
+    }
+
+    public Optional<HANDLE> country(Country country) {
+        return lookup(countries, country.code());
+    }
+
+    private Optional<HANDLE> lookup(Map<String, HANDLE> handles, String code) {
+        HANDLE handle = handles.get(code);
+        if (handle != null) hits.incrementAndGet();
+        else misses.incrementAndGet();
+        return Optional.ofNullable(handle);
+    }
+
+    public void invalidate() {
+        cities.clear();
+        countries.clear();
+        resetStatistics();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public String printStatistics() {
+        long hits = this.hits.get(), misses = this.misses.get();
+        return String.format("Handle cache: %d cities, %d countries; %d hits, %d misses (%.1f%% hit rate)",
+                             cities.size(), countries.size(), hits, misses, hits + misses > 0 ? 100.0 * hits / (hits + misses) : 0.0);
+    }
+}
@@ -21,6 +21,11 @@ public interface Session<TX extends Transaction> extends AutoCloseable {
 
     TX transaction();
 
+    /**
+     * @return a transaction that only reads, which the database can run without conflicting with concurrent writes
+     */
+    TX readTransaction();
+
     @Override
     void close();
 }
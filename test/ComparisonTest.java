@@ -46,7 +46,10 @@ public class ComparisonTest {
 
     @Test
     public void test_agents_have_equal_reports() {
-        Simulation.REGISTERED_AGENTS.forEach(agent -> assertEquals(TYPEDB.getReport(agent), NEO4J.getReport(agent)));
+        Simulation.REGISTERED_AGENTS.forEach(agent -> assertEquals(
+                "Report digests of " + agent.getSimpleName() + " differ, see the reports written to `reportDirectory` for detail",
+                TYPEDB.getDigests(agent), NEO4J.getDigests(agent)
+        ));
     }
 
     public static class Suite extends org.junit.runners.Suite {
@@ -61,8 +64,8 @@ public class ComparisonTest {
 
         public Suite(Class<?> testClass) throws Throwable {
             super(testClass, createRunners(testClass));
-            TYPEDB = TypeDBSimulation.core(OPTIONS.typeDBAddress(), Context.create(CONFIG, false, true));
-            NEO4J = Neo4JSimulation.create(OPTIONS.neo4jAddress(), Context.create(CONFIG, false, true));
+            TYPEDB = TypeDBSimulation.core(OPTIONS.typeDBAddress(), Context.create(CONFIG, null, true));
+            NEO4J = Neo4JSimulation.create(OPTIONS.neo4jAddress(), Context.create(CONFIG, null, true));
         }
 
         private static String[] args() {
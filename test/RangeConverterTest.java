@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.test;
+
+import com.vaticle.typedb.benchmark.common.params.Options;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RangeConverterTest {
+
+    private static final Options.RangeConverter CONVERTER = new Options.RangeConverter();
+
+    @Test
+    public void test_list_is_taken_in_order() {
+        assertEquals(List.of(4, 1, 16), CONVERTER.convert("4, 1,16").values());
+    }
+
+    @Test
+    public void test_range_doubles_from_its_start() {
+        assertEquals(List.of(1, 2, 4, 8), CONVERTER.convert("1..8").values());
+        assertEquals(List.of(3, 6, 12, 24, 48), CONVERTER.convert("3..64").values());
+    }
+
+    @Test
+    public void test_range_with_step_adds_the_step() {
+        assertEquals(List.of(2, 5, 8), CONVERTER.convert("2..9:3").values());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_range_from_0_is_rejected() {
+        CONVERTER.convert("0..8");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_range_from_negative_is_rejected() {
+        CONVERTER.convert("-1..4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_descending_range_is_rejected() {
+        CONVERTER.convert("2..1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_list_with_0_is_rejected() {
+        CONVERTER.convert("1,0,2");
+    }
+}
@@ -17,11 +17,13 @@
 
 package com.vaticle.typedb.benchmark.typedb;
 
+import com.vaticle.typedb.benchmark.common.concept.City;
 import com.vaticle.typedb.benchmark.common.concept.Continent;
 import com.vaticle.typedb.benchmark.common.concept.Country;
 import com.vaticle.typedb.benchmark.common.concept.Global;
 import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.common.seed.SeedData;
+import com.vaticle.typedb.benchmark.common.seed.SeedLoader;
 import com.vaticle.typedb.benchmark.typedb.agent.TypeDBFriendshipAgent;
 import com.vaticle.typedb.benchmark.typedb.agent.TypeDBPersonAgent;
 import com.vaticle.typedb.benchmark.typedb.driver.TypeDBClient;
@@ -32,6 +34,7 @@ import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
 import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
 import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
+import com.vaticle.typeql.lang.query.TypeQLInsert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +43,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.vaticle.typedb.benchmark.common.Util.printDuration;
 import static com.vaticle.typedb.benchmark.typedb.Labels.CITY;
@@ -57,6 +62,7 @@ import static com.vaticle.typedb.benchmark.typedb.Labels.NAME;
 import static com.vaticle.typedb.benchmark.typedb.Labels.UNIVERSITY;
 import static com.vaticle.typedb.client.api.TypeDBSession.Type.DATA;
 import static com.vaticle.typedb.client.api.TypeDBSession.Type.SCHEMA;
+import static com.vaticle.typedb.client.api.TypeDBTransaction.Type.READ;
 import static com.vaticle.typedb.client.api.TypeDBTransaction.Type.WRITE;
 import static com.vaticle.typeql.lang.TypeQL.insert;
 import static com.vaticle.typeql.lang.TypeQL.match;
@@ -74,19 +80,21 @@ public class TypeDBSimulation extends Simulation<TypeDBClient, TypeDBSession, Ty
     }
 
     public static TypeDBSimulation core(String address, Context context) throws Exception {
-        return new TypeDBSimulation(TypeDBClient.core(address, context.databaseName()), context);
+        return new TypeDBSimulation(TypeDBClient.core(address, context.databaseName(), context.typedb().getAsyncDepth()), context);
     }
 
     public static TypeDBSimulation cluster(String address, Context context) throws Exception {
-        return new TypeDBSimulation(TypeDBClient.cluster(address, context.databaseName()), context);
+        return new TypeDBSimulation(TypeDBClient.cluster(address, context.databaseName(), context.typedb().getAsyncDepth()), context);
     }
 
     @Override
     protected void initialise(SeedData geoData) throws IOException {
         com.vaticle.typedb.client.api.TypeDBClient nativeClient = client.unpack();
+        client.handles().invalidate();
         initDatabase(nativeClient);
         initSchema(nativeClient);
         initData(nativeClient, geoData);
+        initHandles(nativeClient);
     }
 
     private void initDatabase(com.vaticle.typedb.client.api.TypeDBClient nativeClient) {
@@ -110,62 +118,80 @@ public class TypeDBSimulation extends Simulation<TypeDBClient, TypeDBSession, Ty
     }
 
     private void initData(com.vaticle.typedb.client.api.TypeDBClient nativeClient, SeedData geoData) {
-        try (com.vaticle.typedb.client.api.TypeDBSession session = nativeClient.session(context.databaseName(), DATA)) {
+        try (com.vaticle.typedb.client.api.TypeDBSession session = nativeClient.session(context.databaseName(), DATA);
+             SeedLoader loader = new SeedLoader("TypeDB", context.initialisation().getParallelism())) {
             LOG.info("TypeDB initialisation of world simulation data started ...");
             Instant start = Instant.now();
-            initContinents(session, geoData.global());
+            loader.load("continents", List.of(geoData.global()), global -> initContinents(session, global));
+            loader.load("countries", geoData.global().continents(), continent -> initCountries(session, continent));
+            loader.load("cities", geoData.countries(), country -> initCities(session, country));
+            loader.load("universities", geoData.countries(), country -> initUniversities(session, country));
             LOG.info("TypeDB initialisation of world simulation data ended in: {}", printDuration(start, Instant.now()));
         }
     }
 
+    private void initHandles(com.vaticle.typedb.client.api.TypeDBClient nativeClient) {
+        try (com.vaticle.typedb.client.api.TypeDBSession session = nativeClient.session(context.databaseName(), DATA);
+             com.vaticle.typedb.client.api.TypeDBTransaction tx = session.transaction(READ)) {
+            tx.query().match(match(var(X).isa(COUNTRY).has(CODE, var(CODE)))).forEach(answer -> client.handles().putCountry(
+                    answer.get(CODE).asAttribute().asString().getValue(), answer.get(X).asThing().getIID()
+            ));
+            tx.query().match(match(var(X).isa(CITY).has(CODE, var(CODE)))).forEach(answer -> client.handles().putCity(
+                    answer.get(CODE).asAttribute().asString().getValue(), answer.get(X).asThing().getIID()
+            ));
+        }
+    }
+
     private void initContinents(com.vaticle.typedb.client.api.TypeDBSession session, Global global) {
-        global.continents().parallelStream().forEach(continent -> {
-            try (com.vaticle.typedb.client.api.TypeDBTransaction tx = session.transaction(WRITE)) {
-                tx.query().insert(insert(var().isa(CONTINENT).has(CODE, continent.code()).has(NAME, continent.name())));
-                tx.commit();
-            }
-            initCountries(session, continent);
-        });
+        if (global.continents().isEmpty()) return;
+        List<ThingVariable<?>> continents = new ArrayList<>();
+        global.continents().forEach(continent -> continents.add(
+                var().isa(CONTINENT).has(CODE, continent.code()).has(NAME, continent.name())
+        ));
+        insertAndCommit(session, insert(continents));
     }
 
     private void initCountries(com.vaticle.typedb.client.api.TypeDBSession session, Continent continent) {
-        continent.countries().parallelStream().forEach(country -> {
-            try (com.vaticle.typedb.client.api.TypeDBTransaction tx = session.transaction(WRITE)) {
-                ThingVariable.Thing countryVar = var(Y).isa(COUNTRY).has(CODE, country.code()).has(NAME, country.name());
-                country.currencies().forEach(currency -> countryVar.has(CURRENCY, currency.code()));
-                tx.query().insert(match(
-                        var(X).isa(CONTINENT).has(CODE, continent.code())
-                ).insert(
-                        countryVar, rel(CONTAINER, X).rel(CONTAINED, Y).isa(CONTAINS)
-                ));
-                // TODO: Currency should be an entity we relate to by relation
-                tx.commit();
-            }
-            initCities(session, country);
-            initUniversities(session, country);
-        });
+        if (continent.countries().isEmpty()) return;
+        List<ThingVariable<?>> countries = new ArrayList<>();
+        for (int i = 0; i < continent.countries().size(); i++) {
+            Country country = continent.countries().get(i);
+            String countryVar = Y + i;
+            ThingVariable.Thing countryThing = var(countryVar).isa(COUNTRY).has(CODE, country.code()).has(NAME, country.name());
+            // TODO: Currency should be an entity we relate to by relation
+            country.currencies().forEach(currency -> countryThing.has(CURRENCY, currency.code()));
+            countries.add(countryThing);
+            countries.add(rel(CONTAINER, X).rel(CONTAINED, countryVar).isa(CONTAINS));
+        }
+        insertAndCommit(session, match(var(X).isa(CONTINENT).has(CODE, continent.code())).insert(countries));
     }
 
     private void initCities(com.vaticle.typedb.client.api.TypeDBSession session, Country country) {
-        try (com.vaticle.typedb.client.api.TypeDBTransaction tx = session.transaction(WRITE)) {
-            country.cities().forEach(city -> tx.query().insert(match(
-                    var(X).isa(COUNTRY).has(CODE, country.code())
-            ).insert(
-                    var(Y).isa(CITY).has(CODE, city.code()).has(NAME, city.name()),
-                    rel(CONTAINER, X).rel(CONTAINED, Y).isa(CONTAINS)
-            )));
-            tx.commit();
+        if (country.cities().isEmpty()) return;
+        List<ThingVariable<?>> cities = new ArrayList<>();
+        for (int i = 0; i < country.cities().size(); i++) {
+            City city = country.cities().get(i);
+            String cityVar = Y + i;
+            cities.add(var(cityVar).isa(CITY).has(CODE, city.code()).has(NAME, city.name()));
+            cities.add(rel(CONTAINER, X).rel(CONTAINED, cityVar).isa(CONTAINS));
         }
+        insertAndCommit(session, match(var(X).isa(COUNTRY).has(CODE, country.code())).insert(cities));
     }
 
     private void initUniversities(com.vaticle.typedb.client.api.TypeDBSession session, Country country) {
+        if (country.universities().isEmpty()) return;
+        List<ThingVariable<?>> universities = new ArrayList<>();
+        for (int i = 0; i < country.universities().size(); i++) {
+            String universityVar = Y + i;
+            universities.add(var(universityVar).isa(UNIVERSITY).has(NAME, country.universities().get(i).name()));
+            universities.add(rel(LOCATION, X).rel(LOCATED, universityVar).isa(LOCATES));
+        }
+        insertAndCommit(session, match(var(X).isa(COUNTRY).has(CODE, country.code())).insert(universities));
+    }
+
+    private void insertAndCommit(com.vaticle.typedb.client.api.TypeDBSession session, TypeQLInsert query) {
         try (com.vaticle.typedb.client.api.TypeDBTransaction tx = session.transaction(WRITE)) {
-            country.universities().forEach(university -> tx.query().insert(match(
-                    var(X).isa(COUNTRY).has(CODE, country.code())
-            ).insert(
-                    var(Y).isa(UNIVERSITY).has(NAME, university.name()),
-                    rel(LOCATION, X).rel(LOCATED, Y).isa(LOCATES)
-            )));
+            tx.query().insert(query);
             tx.commit();
         }
     }
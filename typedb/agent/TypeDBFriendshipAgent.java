@@ -23,13 +23,16 @@ import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.typedb.driver.TypeDBClient;
 import com.vaticle.typedb.benchmark.typedb.driver.TypeDBTransaction;
 import com.vaticle.typedb.benchmark.simulation.agent.FriendshipAgent;
-import com.vaticle.typedb.client.api.answer.ConceptMap;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typeql.lang.TypeQL;
+import com.vaticle.typeql.lang.pattern.Pattern;
+import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
+import com.vaticle.typeql.lang.query.TypeQLInsert;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.vaticle.typedb.benchmark.typedb.Labels.BIRTH_DATE;
@@ -47,7 +50,9 @@ import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENCE;
 import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENT;
 import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENTSHIP;
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typeql.lang.TypeQL.and;
 import static com.vaticle.typeql.lang.TypeQL.eq;
+import static com.vaticle.typeql.lang.TypeQL.or;
 import static com.vaticle.typeql.lang.TypeQL.rel;
 import static com.vaticle.typeql.lang.TypeQL.var;
 import static java.util.stream.Collectors.toList;
@@ -57,40 +62,49 @@ public class TypeDBFriendshipAgent extends FriendshipAgent<TypeDBTransaction> {
     private static final String X = "x", Y = "y";
     private static final String E1 = "e1", E2 = "e2";
 
+    private static final ThingVariable.Relation MATCH_RESIDENTSHIP = rel(RESIDENT, var(PERSON)).rel(RESIDENCE, var(CITY)).isa(RESIDENTSHIP);
+    private static final ThingVariable.Relation MATCH_CONTAINS = rel(CONTAINED, var(CITY)).rel(CONTAINER, var(COUNTRY)).isa(CONTAINS);
+    private static final ThingVariable.Relation FRIENDSHIP_OF_X_Y = rel(FRIEND, var(X)).rel(FRIEND, var(Y)).isa(FRIENDSHIP);
+
+    private final HandleCache<String> handles;
+
     public TypeDBFriendshipAgent(TypeDBClient client, Context context) {
         super(client, context);
+        this.handles = client.handles();
     }
 
     @Override
     protected Stream<Person> matchTeenagers(TypeDBTransaction tx, Country country, LocalDateTime birthDate) {
         return tx.query().match(TypeQL.match(
                 var(PERSON).isa(PERSON).has(BIRTH_DATE, eq(birthDate)).has(EMAIL, var(EMAIL)),
-                var(COUNTRY).isa(COUNTRY).has(CODE, country.code()),
-                rel(RESIDENT, var(PERSON)).rel(RESIDENCE, var(CITY)).isa(RESIDENTSHIP),
-                rel(CONTAINED, var(CITY)).rel(CONTAINER, var(COUNTRY)).isa(CONTAINS)
+                handles.country(country).map(iid -> var(COUNTRY).iid(iid))
+                        .orElseGet(() -> var(COUNTRY).isa(COUNTRY).has(CODE, country.code())),
+                MATCH_RESIDENTSHIP, MATCH_CONTAINS
         ).get(var(EMAIL))).map(conceptMap -> new Person(conceptMap.get(EMAIL).asAttribute().asString().getValue()));
     }
 
     @Override
-    protected Optional<Pair<Person, Person>> insertFriends(TypeDBTransaction tx, String email1, String email2) {
-        tx.query().insert(TypeQL.match(
+    protected void insertFriends(TypeDBTransaction tx, String email1, String email2) {
+        TypeQLInsert query = TypeQL.match(
                 var(X).isa(PERSON).has(EMAIL, email1),
                 var(Y).isa(PERSON).has(EMAIL, email2)
-        ).insert(rel(FRIEND, var(X)).rel(FRIEND, var(Y)).isa(FRIENDSHIP)));
-        if (context.isReporting()) return report(tx, email1, email2);
-        else return Optional.empty();
+        ).insert(FRIENDSHIP_OF_X_Y);
+        if (tx.isAsync()) tx.insertAsync(query).thenAccept(nanos -> recordLatency("insertFriendsAwait", nanos));
+        else tx.query().insert(query);
     }
 
-    private Optional<Pair<Person, Person>> report(TypeDBTransaction tx, String email1, String email2) {
-        List<ConceptMap> answers = tx.query().match(TypeQL.match(
-                var(X).isa(PERSON).has(EMAIL, var(E1)), var(E1).eq(email1),
-                var(Y).isa(PERSON).has(EMAIL, var(E2)), var(E2).eq(email2),
-                rel(FRIEND, var(X)).rel(FRIEND, var(Y)).isa(FRIENDSHIP)
-        ).get(var(E1), var(E2))).collect(toList());
-        assert answers.size() == 1;
-        ConceptMap inserted = answers.get(0);
-        Person person1 = new Person(inserted.get(E1).asAttribute().asString().getValue());
-        Person person2 = new Person(inserted.get(E2).asAttribute().asString().getValue());
-        return Optional.of(pair(person1, person2));
+    @Override
+    protected List<Pair<Person, Person>> matchFriendships(TypeDBTransaction tx, List<Pair<Person, Person>> friendships) {
+        List<Pattern> friendsAreAny = new ArrayList<>(friendships.size());
+        friendships.forEach(friends -> friendsAreAny.add(and(
+                var(E1).eq(friends.first().email()), var(E2).eq(friends.second().email())
+        )));
+        return tx.query().match(TypeQL.match(
+                var(X).isa(PERSON).has(EMAIL, var(E1)), var(Y).isa(PERSON).has(EMAIL, var(E2)),
+                or(friendsAreAny), FRIENDSHIP_OF_X_Y
+        ).get(var(E1), var(E2))).map(inserted -> pair(
+                new Person(inserted.get(E1).asAttribute().asString().getValue()),
+                new Person(inserted.get(E2).asAttribute().asString().getValue())
+        )).collect(toList());
     }
 }
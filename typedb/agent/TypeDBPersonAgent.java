@@ -24,13 +24,16 @@ import com.vaticle.typedb.benchmark.common.params.Context;
 import com.vaticle.typedb.benchmark.typedb.driver.TypeDBClient;
 import com.vaticle.typedb.benchmark.typedb.driver.TypeDBTransaction;
 import com.vaticle.typedb.benchmark.simulation.agent.PersonAgent;
-import com.vaticle.typedb.client.api.answer.ConceptMap;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typeql.lang.TypeQL;
+import com.vaticle.typeql.lang.pattern.Pattern;
+import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
+import com.vaticle.typeql.lang.query.TypeQLInsert;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static com.vaticle.typedb.benchmark.typedb.Labels.ADDRESS;
 import static com.vaticle.typedb.benchmark.typedb.Labels.BIRTH_DATE;
@@ -48,47 +51,56 @@ import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENCE;
 import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENT;
 import static com.vaticle.typedb.benchmark.typedb.Labels.RESIDENTSHIP;
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typeql.lang.TypeQL.or;
 import static com.vaticle.typeql.lang.TypeQL.rel;
 import static com.vaticle.typeql.lang.TypeQL.var;
 import static java.util.stream.Collectors.toList;
 
 public class TypeDBPersonAgent extends PersonAgent<TypeDBTransaction> {
 
+    private static final ThingVariable.Relation INSERT_BIRTH_PLACE = var().rel(PLACE, var(CITY)).rel(CHILD, var("p")).isa(BIRTH_PLACE);
+    private static final ThingVariable.Relation INSERT_RESIDENTSHIP = var().rel(RESIDENCE, var(CITY)).rel(RESIDENT, var("p")).isa(RESIDENTSHIP);
+    private static final ThingVariable.Thing MATCH_CITY_CODE = var(CITY).has(CODE, var(CODE));
+    private static final ThingVariable.Relation MATCH_BIRTH_PLACE = rel(CHILD, var(PERSON)).rel(PLACE, var(CITY)).isa(BIRTH_PLACE);
+    private static final ThingVariable.Relation MATCH_RESIDENTSHIP = rel(RESIDENT, var(PERSON)).rel(RESIDENCE, var(CITY)).isa(RESIDENTSHIP);
+
+    private final HandleCache<String> handles;
+
     public TypeDBPersonAgent(TypeDBClient client, Context context) {
         super(client, context);
+        this.handles = client.handles();
     }
 
     @Override
-    protected Optional<Pair<Person, City>> insertPerson(TypeDBTransaction tx, String email, String firstName, String lastName,
-                                                        String address, Gender gender, LocalDateTime birthDate, City city) {
-        tx.query().insert(TypeQL.match(
-                var(CITY).isa(CITY).has(CODE, city.code())
+    protected void insertPerson(TypeDBTransaction tx, String email, String firstName, String lastName,
+                                String address, Gender gender, LocalDateTime birthDate, City city) {
+        TypeQLInsert query = TypeQL.match(
+                handles.city(city).map(iid -> var(CITY).iid(iid)).orElseGet(() -> var(CITY).isa(CITY).has(CODE, city.code()))
         ).insert(
                 var("p").isa(PERSON).has(EMAIL, email).has(FIRST_NAME, firstName).has(LAST_NAME, lastName)
                         .has(ADDRESS, address).has(GENDER, gender.value()).has(BIRTH_DATE, birthDate),
-                var().rel(PLACE, var(CITY)).rel(CHILD, var("p")).isa(BIRTH_PLACE),
-                var().rel(RESIDENCE, var(CITY)).rel(RESIDENT, var("p")).isa(RESIDENTSHIP)
-        ));
-        if (context.isReporting()) return report(tx, email);
-        else return Optional.empty();
+                INSERT_BIRTH_PLACE, INSERT_RESIDENTSHIP
+        );
+        if (tx.isAsync()) tx.insertAsync(query).thenAccept(nanos -> recordLatency("insertPersonAwait", nanos));
+        else tx.query().insert(query);
     }
 
-    private Optional<Pair<Person, City>> report(TypeDBTransaction tx, String email) {
-        List<ConceptMap> answers = tx.query().match(TypeQL.match(
-                var(PERSON).isa(PERSON).has(EMAIL, email).has(FIRST_NAME, var(FIRST_NAME)).has(LAST_NAME, var(LAST_NAME))
+    @Override
+    protected List<Pair<Person, City>> matchPersons(TypeDBTransaction tx, List<String> emails) {
+        List<Pattern> emailIsAny = new ArrayList<>(emails.size());
+        emails.forEach(email -> emailIsAny.add(var(EMAIL).eq(email)));
+        return tx.query().match(TypeQL.match(
+                var(PERSON).isa(PERSON).has(EMAIL, var(EMAIL)).has(FIRST_NAME, var(FIRST_NAME)).has(LAST_NAME, var(LAST_NAME))
                         .has(ADDRESS, var(ADDRESS)).has(GENDER, var(GENDER)).has(BIRTH_DATE, var(BIRTH_DATE)),
-                var(CITY).has(CODE, var(CODE)),
-                rel(CHILD, var(PERSON)).rel(PLACE, var(CITY)).isa(BIRTH_PLACE),
-                rel(RESIDENT, var(PERSON)).rel(RESIDENCE, var(CITY)).isa(RESIDENTSHIP)
-        )).collect(toList());
-        assert answers.size() == 1;
-        ConceptMap inserted = answers.get(0);
-        Person person = new Person(email, inserted.get(FIRST_NAME).asAttribute().asString().getValue(),
-                                   inserted.get(LAST_NAME).asAttribute().asString().getValue(),
-                                   inserted.get(ADDRESS).asAttribute().asString().getValue(),
-                                   Gender.of(inserted.get(GENDER).asAttribute().asString().getValue()),
-                                   inserted.get(BIRTH_DATE).asAttribute().asDateTime().getValue());
-        City city = new City(inserted.get(CODE).asAttribute().asString().getValue());
-        return Optional.of(pair(person, city));
+                or(emailIsAny), MATCH_CITY_CODE, MATCH_BIRTH_PLACE, MATCH_RESIDENTSHIP
+        )).map(inserted -> {
+            Person person = new Person(inserted.get(EMAIL).asAttribute().asString().getValue(),
+                                       inserted.get(FIRST_NAME).asAttribute().asString().getValue(),
+                                       inserted.get(LAST_NAME).asAttribute().asString().getValue(),
+                                       inserted.get(ADDRESS).asAttribute().asString().getValue(),
+                                       Gender.of(inserted.get(GENDER).asAttribute().asString().getValue()),
+                                       inserted.get(BIRTH_DATE).asAttribute().asDateTime().getValue());
+            return pair(person, new City(inserted.get(CODE).asAttribute().asString().getValue()));
+        }).collect(toList());
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2021 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.benchmark.typedb.driver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the queries submitted asynchronously by every transaction of a client, and the number of queries the client
+ * had submitted but not yet awaited on their transaction when each was submitted. That is an upper bound on how many
+ * were in flight on the server, as some of them may have been answered already.
+ */
+public class PipelineStatistics {
+
+    private final int asyncDepth;
+    private final LongAdder submitted;
+    private final LongAdder depthSum;
+    private final AtomicInteger maxDepth;
+
+    PipelineStatistics(int asyncDepth) {
+        this.asyncDepth = asyncDepth;
+        this.submitted = new LongAdder();
+        this.depthSum = new LongAdder();
+        this.maxDepth = new AtomicInteger();
+    }
+
+    void submitted(int depth) {
+        submitted.increment();
+        depthSum.add(depth);
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void resetStatistics() {
+        submitted.reset();
+        depthSum.reset();
+        maxDepth.set(0);
+    }
+
+    public String printStatistics() {
+        long count = submitted.sum();
+        double meanDepth = count == 0 ? 0 : (double) depthSum.sum() / count;
+        return String.format("Pipelined queries: %,d, mean unawaited queries: %.2f, max unawaited queries: %d (limit %d)",
+                             count, meanDepth, maxDepth.get(), asyncDepth);
+    }
+}
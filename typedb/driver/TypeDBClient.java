@@ -19,6 +19,7 @@ package com.vaticle.typedb.benchmark.typedb.driver;
 
 import com.vaticle.typedb.benchmark.common.concept.Region;
 import com.vaticle.typedb.benchmark.simulation.driver.Client;
+import com.vaticle.typedb.benchmark.simulation.driver.HandleCache;
 import com.vaticle.typedb.client.TypeDB;
 import com.vaticle.typedb.client.api.TypeDBCredential;
 
@@ -35,28 +36,49 @@ public class TypeDBClient implements Client<TypeDBSession, TypeDBTransaction> {
     private final com.vaticle.typedb.client.api.TypeDBClient nativeClient;
     private final ConcurrentHashMap<String, TypeDBSession> sessionMap;
     private final String database;
+    private final int asyncDepth;
+    private final PipelineStatistics pipelineStatistics;
+    private final HandleCache<String> handles;
 
-    private TypeDBClient(com.vaticle.typedb.client.api.TypeDBClient nativeClient, String database) {
+    private TypeDBClient(com.vaticle.typedb.client.api.TypeDBClient nativeClient, String database, int asyncDepth) {
         this.nativeClient = nativeClient;
         this.database = database;
+        this.asyncDepth = asyncDepth;
+        this.pipelineStatistics = new PipelineStatistics(asyncDepth);
         this.sessionMap = new ConcurrentHashMap<>();
+        this.handles = new HandleCache<>();
     }
 
-    public static TypeDBClient core(String hostUri, String database) {
-        return new TypeDBClient(TypeDB.coreClient(hostUri), database);
+    public static TypeDBClient core(String hostUri, String database, int asyncDepth) {
+        return new TypeDBClient(TypeDB.coreClient(hostUri), database, asyncDepth);
     }
 
-    public static TypeDBClient cluster(String hostUri, String database) {
-        return new TypeDBClient(TypeDB.clusterClient(hostUri, TypeDBCredential.plainText()), database);
+    public static TypeDBClient cluster(String hostUri, String database, int asyncDepth) {
+        return new TypeDBClient(TypeDB.clusterClient(hostUri, TypeDBCredential.plainText()), database, asyncDepth);
     }
 
     public com.vaticle.typedb.client.api.TypeDBClient unpack() {
         return nativeClient;
     }
 
+    /**
+     * @return the IIDs of the cities and countries in the database
+     */
+    public HandleCache<String> handles() {
+        return handles;
+    }
+
     @Override
     public TypeDBSession session(Region region) {
-        return sessionMap.computeIfAbsent(region.group(), k -> new TypeDBSession(nativeClient.session(database, DATA)));
+        return sessionMap.computeIfAbsent(region.group(), k -> new TypeDBSession(
+                nativeClient.session(database, DATA), asyncDepth, pipelineStatistics
+        ));
+    }
+
+    @Override
+    public void resetStatistics() {
+        pipelineStatistics.resetStatistics();
+        handles.resetStatistics();
     }
 
     @Override
@@ -84,6 +106,8 @@ public class TypeDBClient implements Client<TypeDBSession, TypeDBTransaction> {
                 str.append("\n");
             }
         }
+        if (asyncDepth > 0) str.append(pipelineStatistics.printStatistics()).append("\n");
+        str.append(handles.printStatistics()).append("\n");
         return str.toString();
     }
 
@@ -19,19 +19,30 @@ package com.vaticle.typedb.benchmark.typedb.driver;
 
 import com.vaticle.typedb.benchmark.simulation.driver.Session;
 
+import static com.vaticle.typedb.client.api.TypeDBTransaction.Type.READ;
 import static com.vaticle.typedb.client.api.TypeDBTransaction.Type.WRITE;
 
 public class TypeDBSession implements Session<TypeDBTransaction> {
 
     private final com.vaticle.typedb.client.api.TypeDBSession nativeSession;
+    private final int asyncDepth;
+    private final PipelineStatistics statistics;
 
-    public TypeDBSession(com.vaticle.typedb.client.api.TypeDBSession nativeSession) {
+    TypeDBSession(com.vaticle.typedb.client.api.TypeDBSession nativeSession, int asyncDepth, PipelineStatistics statistics) {
         this.nativeSession = nativeSession;
+        this.asyncDepth = asyncDepth;
+        this.statistics = statistics;
     }
 
     @Override
     public TypeDBTransaction transaction() {
-        return new TypeDBTransaction(nativeSession.transaction(WRITE));
+        return new TypeDBTransaction(nativeSession.transaction(WRITE), asyncDepth, statistics);
+    }
+
+    @Override
+    public TypeDBTransaction readTransaction() {
+        // Reads are never pipelined, as only inserts are submitted asynchronously
+        return new TypeDBTransaction(nativeSession.transaction(READ), 0, statistics);
     }
 
     @Override
@@ -20,11 +20,15 @@ package com.vaticle.typedb.benchmark.typedb.driver;
 import com.vaticle.typedb.benchmark.simulation.driver.Transaction;
 import com.vaticle.typedb.client.api.answer.ConceptMap;
 import com.vaticle.typedb.client.api.query.QueryManager;
+import com.vaticle.typeql.lang.query.TypeQLInsert;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -34,22 +38,67 @@ public class TypeDBTransaction implements Transaction {
     private static final Logger LOG = LoggerFactory.getLogger(TypeDBTransaction.class);
 
     private final com.vaticle.typedb.client.api.TypeDBTransaction tx;
+    private final int asyncDepth;
+    private final PipelineStatistics statistics;
+    private final Deque<InFlightQuery> inFlight;
 
-    public TypeDBTransaction(com.vaticle.typedb.client.api.TypeDBTransaction tx) {
+    TypeDBTransaction(com.vaticle.typedb.client.api.TypeDBTransaction tx, int asyncDepth, PipelineStatistics statistics) {
         this.tx = tx;
+        this.asyncDepth = asyncDepth;
+        this.statistics = statistics;
+        this.inFlight = new ArrayDeque<>();
     }
 
     public QueryManager query() {
         return tx.query();
     }
 
+    public boolean isAsync() {
+        return asyncDepth > 0;
+    }
+
+    /**
+     * Submits an insert without waiting for its answers, once fewer than the configured number of queries are left
+     * unawaited on this transaction, awaiting the oldest ones until then. The time the caller spends in this method,
+     * which is what an agent records around an insert, is therefore the time to submit it plus any awaits it forced.
+     * The returned future completes, once the query is awaited, with the time in nanoseconds the client was blocked
+     * waiting for its answers, which is zero if they had all arrived by then. That is not the server latency of the
+     * query, which the client cannot observe without consuming the answers as they arrive.
+     */
+    public CompletableFuture<Long> insertAsync(TypeQLInsert query) {
+        assert isAsync();
+        while (inFlight.size() >= asyncDepth) awaitOldest();
+        InFlightQuery submitted = new InFlightQuery(tx.query().insert(query));
+        inFlight.addLast(submitted);
+        statistics.submitted(inFlight.size());
+        return submitted.awaited;
+    }
+
+    public void awaitAll() {
+        while (!inFlight.isEmpty()) awaitOldest();
+    }
+
+    private void awaitOldest() {
+        InFlightQuery query = inFlight.removeFirst();
+        try {
+            long start = System.nanoTime();
+            query.answers.forEach(answer -> {});
+            query.awaited.complete(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            query.awaited.completeExceptionally(e);
+            throw e;
+        }
+    }
+
     @Override
     public void close() {
+        inFlight.clear();
         tx.close();
     }
 
     @Override
     public void commit() {
+        awaitAll();
         tx.commit();
     }
 
@@ -72,4 +121,15 @@ public class TypeDBTransaction implements Transaction {
     public Object getValueOfAttribute(ConceptMap answer, String varName) {
         return answer.get(varName).asThing().asAttribute().getValue();
     }
+
+    private static class InFlightQuery {
+
+        private final Stream<ConceptMap> answers;
+        private final CompletableFuture<Long> awaited;
+
+        private InFlightQuery(Stream<ConceptMap> answers) {
+            this.answers = answers;
+            this.awaited = new CompletableFuture<>();
+        }
+    }
 }